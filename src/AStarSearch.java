@@ -0,0 +1,148 @@
+import java.util.BitSet;
+
+// represents an A* search that always expands the cell with the smallest
+// distance travelled plus manhattan distance left to the target, breaking
+// ties toward the cell closer to the target
+class AStarSearch implements ISolver {
+  // represents the maze being searched
+  MazeGrid grid;
+  // represents the cell each cell was best reached from
+  int[] cameFromEdge;
+  // the number of steps on the best known way to each cell
+  int[] distance;
+  // represents the cells waiting to be expanded
+  IndexedMinHeap worklist;
+  // the cells seen so far, and whatever is listening for new ones
+  VisitedCells visited;
+  // one bit per cell, set for the cells of the final path
+  BitSet path;
+  // represents the cell in the bottom right
+  int target;
+  // determines if the search is finished or not
+  boolean finished;
+  // represents the cell in the top left
+  int firstCell;
+  // the number of cells taken off the heap so far
+  int expansions;
+  // scratch space for the ids of a cell's neighbors
+  int[] neighbors;
+
+  // starting constructor, from the top left to the bottom right
+  AStarSearch(MazeGrid grid) {
+    this(grid, 0, grid.size() - 1);
+  }
+
+  // constructor for an A* search between any two cells
+  AStarSearch(MazeGrid grid, int firstCell, int target) {
+    this.grid = grid;
+    this.cameFromEdge = new int[grid.size()];
+    this.distance = new int[grid.size()];
+    this.worklist = new IndexedMinHeap(grid.size());
+    this.visited = new VisitedCells(grid.size());
+    this.path = new BitSet(grid.size());
+    this.neighbors = new int[4];
+
+    this.reset(firstCell, target);
+  }
+
+  // EFFECT: forgets everything found so far and starts over between the given
+  // cells, keeping the arrays it already has
+  public void reset(int firstCell, int target) {
+    this.worklist.clear();
+    this.visited.clear();
+    this.path.clear();
+    this.expansions = 0;
+    this.firstCell = firstCell;
+    this.target = target;
+    this.finished = false;
+
+    this.visited.see(firstCell);
+    this.distance[firstCell] = 0;
+    this.cameFromEdge[firstCell] = firstCell;
+    this.worklist.push(firstCell, this.key(firstCell));
+  }
+
+  // the manhattan distance from the given cell to the target
+  int heuristic(int cell) {
+    return Math.abs(cell % this.grid.width - this.target % this.grid.width)
+        + Math.abs(cell / this.grid.width - this.target / this.grid.width);
+  }
+
+  // the heap key of the given cell, its estimated total distance in the high
+  // half and its distance left in the low half
+  long key(int cell) {
+    int left = this.heuristic(cell);
+
+    return ((long) (this.distance[cell] + left) << 32) | left;
+  }
+
+  // EFFECT: goes through the worklist to find
+  // the target cell
+  public boolean search() {
+    if (!this.worklist.isEmpty() && !this.finished) {
+      int next = this.worklist.pop();
+      this.expansions++;
+
+      if (next == this.target) {
+        this.finished = true;
+        this.reconstruct(next);
+      }
+      else {
+        int found = this.grid.neighbors(next, this.neighbors);
+
+        for (int i = 0; i < found; i++) {
+          int n = this.neighbors[i];
+
+          if (!this.visited.get(n) || this.distance[next] + 1 < this.distance[n]) {
+            this.visited.see(n);
+            this.distance[n] = this.distance[next] + 1;
+            this.cameFromEdge[n] = next;
+            this.worklist.push(n, this.key(n));
+          }
+        }
+      }
+    }
+
+    return this.finished;
+  }
+
+  // EFFECT: tells the given listener about every cell seen so far, and then
+  // about each new cell as soon as it is seen
+  public void listen(IVisitListener listener) {
+    this.visited.listen(listener);
+  }
+
+  // the number of cells expanded so far
+  public int expansions() {
+    return this.expansions;
+  }
+
+  // the number of cells seen but not yet expanded
+  public int frontier() {
+    return this.worklist.size;
+  }
+
+  // one bit per cell, set for the cells seen so far
+  public BitSet visitedCells() {
+    return this.visited.cells;
+  }
+
+  // one bit per cell, set for the cells of the path once it is found
+  public BitSet pathCells() {
+    return this.path;
+  }
+
+  // EFFECT: determines if a cell is a part of
+  // the final path
+  public void reconstruct(int cell) {
+
+    this.path.set(this.firstCell);
+
+    while (cell != this.firstCell) {
+      this.path.set(cell);
+      cell = this.cameFromEdge[cell];
+    }
+
+  }
+
+}
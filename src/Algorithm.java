@@ -0,0 +1,20 @@
+// represents the searches a batch request can ask for
+enum Algorithm {
+  BFS, DFS, BIDIRECTIONAL, ASTAR;
+
+  // a new search of this kind over the given grid between the given cells
+  ISolver make(MazeGrid grid, int firstCell, int target) {
+    if (this == BFS) {
+      return new BreadthFirstSearch(grid, firstCell, target);
+    }
+    else if (this == DFS) {
+      return new DepthFirstSearch(grid, firstCell, target);
+    }
+    else if (this == BIDIRECTIONAL) {
+      return new BidirectionalSearch(grid, firstCell, target);
+    }
+    else {
+      return new AStarSearch(grid, firstCell, target);
+    }
+  }
+}
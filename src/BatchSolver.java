@@ -0,0 +1,120 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Solves many requests against one MazeSnapshot in parallel. Each request
+// borrows a search of its kind from a shared pool and resets it, so the
+// arrays a search needs are made once per thread rather than once per request
+class BatchSolver {
+  // the maze every request is solved on
+  MazeSnapshot maze;
+  // runs the requests
+  ExecutorService executor;
+  // searches that are not in use, by kind
+  EnumMap<Algorithm, ConcurrentLinkedQueue<ISolver>> pools;
+
+  // starting constructor, one thread for each core
+  BatchSolver(MazeSnapshot maze) {
+    this(maze, Runtime.getRuntime().availableProcessors());
+  }
+
+  // constructor with a given number of threads
+  BatchSolver(MazeSnapshot maze, int threads) {
+    this.maze = maze;
+    this.executor = Executors.newFixedThreadPool(threads);
+    this.pools = new EnumMap<Algorithm, ConcurrentLinkedQueue<ISolver>>(Algorithm.class);
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      this.pools.put(algorithm, new ConcurrentLinkedQueue<ISolver>());
+    }
+  }
+
+  // solves every given request, the results in the same order
+  public List<SolveResult> solveAll(List<SolveRequest> requests) {
+    ArrayList<Callable<SolveResult>> tasks = new ArrayList<Callable<SolveResult>>();
+    ArrayList<SolveResult> results = new ArrayList<SolveResult>();
+
+    for (SolveRequest request : requests) {
+      tasks.add(() -> this.solve(request));
+    }
+
+    try {
+      for (Future<SolveResult> result : this.executor.invokeAll(tasks)) {
+        results.add(result.get());
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while solving a batch", e);
+    }
+    catch (ExecutionException e) {
+      throw new IllegalStateException("A request in the batch failed", e.getCause());
+    }
+    return results;
+  }
+
+  // solves the given request on the calling thread
+  SolveResult solve(SolveRequest request) {
+    ConcurrentLinkedQueue<ISolver> pool = this.pools.get(request.algorithm);
+    ISolver search = pool.poll();
+    long start = System.nanoTime();
+
+    if (search == null) {
+      search = this.maze.solver(request.algorithm, request.firstCell, request.target);
+    }
+    else {
+      search.reset(request.firstCell, request.target);
+    }
+
+    // a search that stops expanding without finding the target has run out
+    boolean found = false;
+    int expanded = -1;
+    while (!found && search.expansions() != expanded) {
+      expanded = search.expansions();
+      found = search.search();
+    }
+
+    SolveResult result = new SolveResult(request,
+        found ? this.order(search.pathCells(), request.firstCell) : new int[0],
+        search.expansions(), System.nanoTime() - start);
+
+    pool.offer(search);
+    return result;
+  }
+
+  // the cells of the given path in order, starting from the given end; in a
+  // tree each cell of a path has at most one next cell on the path that has
+  // not been walked yet
+  int[] order(BitSet path, int first) {
+    int[] cells = new int[path.cardinality()];
+    int[] neighbors = new int[4];
+    int previous = -1;
+
+    cells[0] = first;
+    for (int i = 1; i < cells.length; i++) {
+      int found = this.maze.neighbors(cells[i - 1], neighbors);
+
+      for (int j = 0; j < found; j++) {
+        if (neighbors[j] != previous && path.get(neighbors[j])) {
+          previous = cells[i - 1];
+          cells[i] = neighbors[j];
+          break;
+        }
+      }
+    }
+    return cells;
+  }
+
+  // EFFECT: stops the threads once the current batch is done
+  public void close() {
+    this.executor.shutdown();
+  }
+
+}
@@ -0,0 +1,40 @@
+// represents how one benchmark did at one size
+class BenchmarkResult {
+  // the benchmark's name
+  String name;
+  // the width and height of the maze
+  int size;
+  // the number of timed runs
+  int iterations;
+  // the mean and fastest time of a run in nanoseconds
+  long meanNanos;
+  long minNanos;
+  // the mean number of bytes a run allocated, -1 if they were not counted
+  long bytesPerOp;
+
+  // starting constructor for a result
+  BenchmarkResult(String name, int size, int iterations, long meanNanos, long minNanos,
+      long bytesPerOp) {
+    this.name = name;
+    this.size = size;
+    this.iterations = iterations;
+    this.meanNanos = meanNanos;
+    this.minNanos = minNanos;
+    this.bytesPerOp = bytesPerOp;
+  }
+
+  // the number of megabytes a second the benchmark allocated while it ran
+  double allocationRate() {
+    if (this.bytesPerOp < 0 || this.meanNanos == 0) {
+      return -1;
+    }
+    return this.bytesPerOp / (this.meanNanos / 1e9) / (1024 * 1024);
+  }
+
+  // the result as one line of the report
+  public String toString() {
+    return String.format("%-14s %6d %6d %12.3f %12.3f %14d %10.1f", this.name, this.size,
+        this.iterations, this.meanNanos / 1e6, this.minNanos / 1e6, this.bytesPerOp,
+        this.allocationRate());
+  }
+}
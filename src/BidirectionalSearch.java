@@ -0,0 +1,179 @@
+import java.util.BitSet;
+
+// represents a breadth first search that grows one frontier from the first
+// cell and another from the target, one cell at a time from whichever is
+// smaller, and stops where the two meet
+class BidirectionalSearch implements ISolver {
+  // represents the maze being searched
+  MazeGrid grid;
+  // represents the cell each cell was first reached from, the first cell and
+  // the target were reached from themselves
+  int[] cameFromEdge;
+  // holds both queues: the one from the first cell fills up from the front
+  // and the one from the target fills down from the back, and since every
+  // cell is queued at most once they never run into each other
+  int[] worklist;
+  // the next position to take off and the next free position of each queue
+  int forwardHead;
+  int forwardTail;
+  int backwardHead;
+  int backwardTail;
+  // one bit per cell, set for the cells reached from the first cell
+  BitSet fromFirst;
+  // the cells seen from either side, and whatever is listening for new ones
+  VisitedCells visited;
+  // one bit per cell, set for the cells of the final path
+  BitSet path;
+  // represents the cell in the bottom right
+  int target;
+  // determines if the search is finished or not
+  boolean finished;
+  // represents the cell in the top left
+  int firstCell;
+  // the number of cells taken off either queue so far
+  int expansions;
+  // scratch space for the ids of a cell's neighbors
+  int[] neighbors;
+
+  // starting constructor, from the top left to the bottom right
+  BidirectionalSearch(MazeGrid grid) {
+    this(grid, 0, grid.size() - 1);
+  }
+
+  // constructor for a search between any two cells
+  BidirectionalSearch(MazeGrid grid, int firstCell, int target) {
+    this.grid = grid;
+    this.cameFromEdge = new int[grid.size()];
+    this.worklist = new int[grid.size()];
+    this.fromFirst = new BitSet(grid.size());
+    this.visited = new VisitedCells(grid.size());
+    this.path = new BitSet(grid.size());
+    this.neighbors = new int[4];
+
+    this.reset(firstCell, target);
+  }
+
+  // EFFECT: forgets everything found so far and starts over between the given
+  // cells, keeping the arrays it already has
+  public void reset(int firstCell, int target) {
+    this.fromFirst.clear();
+    this.visited.clear();
+    this.path.clear();
+    this.expansions = 0;
+    this.firstCell = firstCell;
+    this.target = target;
+    this.finished = false;
+
+    this.forwardHead = 0;
+    this.forwardTail = 1;
+    this.worklist[0] = firstCell;
+    this.cameFromEdge[firstCell] = firstCell;
+    this.fromFirst.set(firstCell);
+    this.visited.see(firstCell);
+
+    this.backwardHead = this.worklist.length - 1;
+    this.backwardTail = this.worklist.length - 1;
+    if (target != firstCell) {
+      this.backwardTail = this.worklist.length - 2;
+      this.worklist[this.worklist.length - 1] = target;
+      this.cameFromEdge[target] = target;
+      this.visited.see(target);
+    }
+  }
+
+  // EFFECT: expands one cell from the side with the smaller frontier
+  // returns true once the frontiers have met
+  public boolean search() {
+    int forwardSize = this.forwardTail - this.forwardHead;
+    int backwardSize = this.backwardHead - this.backwardTail;
+
+    if (this.finished || forwardSize == 0) {
+      return this.finished;
+    }
+
+    if (this.firstCell == this.target) {
+      this.expansions++;
+      this.finished = true;
+      this.path.set(this.firstCell);
+    }
+    else if (backwardSize > 0) {
+      if (forwardSize <= backwardSize) {
+        this.expand(this.worklist[this.forwardHead++], true);
+      }
+      else {
+        this.expand(this.worklist[this.backwardHead--], false);
+      }
+    }
+
+    return this.finished;
+  }
+
+  // EFFECT: queues every unseen neighbor of the given cell on its own side,
+  // or finishes if a neighbor was already seen from the other side
+  void expand(int next, boolean forward) {
+    this.expansions++;
+
+    int found = this.grid.neighbors(next, this.neighbors);
+
+    for (int i = 0; i < found; i++) {
+      int n = this.neighbors[i];
+
+      if (!this.visited.get(n)) {
+        this.visited.see(n);
+        this.cameFromEdge[n] = next;
+
+        if (forward) {
+          this.fromFirst.set(n);
+          this.worklist[this.forwardTail++] = n;
+        }
+        else {
+          this.worklist[this.backwardTail--] = n;
+        }
+      }
+      else if (this.fromFirst.get(n) != forward) {
+        this.finished = true;
+        this.reconstruct(next);
+        this.reconstruct(n);
+        return;
+      }
+    }
+  }
+
+  // EFFECT: tells the given listener about every cell seen so far, and then
+  // about each new cell as soon as it is seen
+  public void listen(IVisitListener listener) {
+    this.visited.listen(listener);
+  }
+
+  // the number of cells expanded so far
+  public int expansions() {
+    return this.expansions;
+  }
+
+  // the number of cells seen but not yet expanded
+  public int frontier() {
+    return this.forwardTail - this.forwardHead + this.backwardHead - this.backwardTail;
+  }
+
+  // one bit per cell, set for the cells seen so far
+  public BitSet visitedCells() {
+    return this.visited.cells;
+  }
+
+  // one bit per cell, set for the cells of the path once it is found
+  public BitSet pathCells() {
+    return this.path;
+  }
+
+  // EFFECT: marks the given cell and every cell back to the end of the maze
+  // it was reached from as part of the final path
+  public void reconstruct(int cell) {
+    this.path.set(cell);
+
+    while (this.cameFromEdge[cell] != cell) {
+      cell = this.cameFromEdge[cell];
+      this.path.set(cell);
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Builds the same maze as kruskal's algorithm using boruvka rounds spread over
+// a fork join pool: every set picks its cheapest edge out in parallel, then
+// all of those edges are joined at once. An edge's weight is its position in
+// the edge order, and since no two weights tie, the minimum spanning tree is
+// unique and matches the sequential one exactly
+class BoruvkaGenerator {
+  // the number of positions each thread filters at a time
+  static final int BLOCK = 1 << 13;
+  // the number of cells each thread joins at a time
+  static final int GRAIN = 1 << 14;
+
+  // Produces the maze of the given size whose tree is the minimum spanning tree
+  // of the given edge order, as MazeGrid.shuffledEdges lays it out
+  public static MazeGrid generate(int width, int height, int[] edgeOrder, ForkJoinPool pool) {
+    MazeGrid grid = new MazeGrid(width, height);
+    ConcurrentUnionFind sets = new ConcurrentUnionFind(grid.size());
+    AtomicIntegerArray cheapest = new AtomicIntegerArray(grid.size());
+    AtomicLongArray tree = new AtomicLongArray(grid.walls.length);
+    int[] alive = new int[edgeOrder.length];
+    int[] survivors = new int[edgeOrder.length];
+    int aliveCount = edgeOrder.length;
+
+    for (int i = 0; i < edgeOrder.length; i++) {
+      alive[i] = i;
+    }
+    for (int i = 0; i < grid.size(); i++) {
+      cheapest.set(i, Integer.MAX_VALUE);
+    }
+
+    while (aliveCount > 0) {
+      int[] current = alive;
+      int count = aliveCount;
+      int[] kept = new int[(count + BLOCK - 1) / BLOCK];
+
+      // drops edges whose cells are already joined, moving the rest to the
+      // front of their block, and offers the rest to the sets on both ends
+      pool.invoke(new RangeTask((first, last) -> {
+        for (int block = first; block < last; block++) {
+          int start = block * BLOCK;
+          int keep = start;
+
+          for (int i = start; i < Math.min(start + BLOCK, count); i++) {
+            int edge = edgeOrder[current[i]];
+            int rootFrom = sets.find(grid.edgeFrom(edge));
+            int rootTo = sets.find(grid.edgeTo(edge));
+
+            if (rootFrom != rootTo) {
+              current[keep++] = current[i];
+              lowerTo(cheapest, rootFrom, current[i]);
+              lowerTo(cheapest, rootTo, current[i]);
+            }
+          }
+          kept[block] = keep - start;
+        }
+      }, 0, kept.length, 1));
+
+      // joins every set to the other end of its cheapest edge
+      pool.invoke(new RangeTask((first, last) -> {
+        for (int cell = first; cell < last; cell++) {
+          int position = cheapest.get(cell);
+
+          if (position != Integer.MAX_VALUE) {
+            cheapest.set(cell, Integer.MAX_VALUE);
+            int edge = edgeOrder[position];
+
+            if (sets.union(grid.edgeFrom(edge), grid.edgeTo(edge))) {
+              tree.getAndAccumulate(edge >>> 6, 1L << edge, (x, y) -> x | y);
+            }
+          }
+        }
+      }, 0, grid.size(), GRAIN));
+
+      // packs the surviving positions of every block together
+      int[] offsets = new int[kept.length];
+      aliveCount = 0;
+      for (int block = 0; block < kept.length; block++) {
+        offsets[block] = aliveCount;
+        aliveCount = aliveCount + kept[block];
+      }
+
+      int[] packed = survivors;
+      pool.invoke(new RangeTask((first, last) -> {
+        for (int block = first; block < last; block++) {
+          System.arraycopy(current, block * BLOCK, packed, offsets[block], kept[block]);
+        }
+      }, 0, kept.length, 1));
+
+      survivors = alive;
+      alive = packed;
+    }
+
+    // every wall is standing except the ones the tree crosses
+    AtomicLongArray joined = tree;
+    pool.invoke(new RangeTask((first, last) -> {
+      for (int word = first; word < last; word++) {
+        grid.walls[word] = ~joined.get(word);
+      }
+    }, 0, grid.walls.length, GRAIN));
+
+    return grid;
+  }
+
+  // EFFECT: lowers the value at the given index to the given value if it is
+  // smaller, retrying when another thread changes it first
+  static void lowerTo(AtomicIntegerArray values, int index, int value) {
+    int current = values.get(index);
+
+    while (value < current && !values.compareAndSet(index, current, value)) {
+      current = values.get(index);
+    }
+  }
+
+}
@@ -0,0 +1,142 @@
+import java.util.BitSet;
+
+// represents a breadth first search over the cell ids of a grid, keeping its
+// queue and the way it reached each cell in arrays made up front, so that
+// expanding a cell allocates nothing
+class BreadthFirstSearch implements ISolver {
+  // represents the maze being searched
+  MazeGrid grid;
+  // represents the cell each cell was first reached from
+  int[] cameFromEdge;
+  // represents a queue of cell ids that wraps around the end of the array,
+  // every cell is queued at most once so it never fills up
+  int[] worklist;
+  // the position of the next cell to take off the queue
+  int head;
+  // the number of cells on the queue
+  int count;
+  // the cells seen so far, and whatever is listening for new ones
+  VisitedCells visited;
+  // one bit per cell, set for the cells of the final path
+  BitSet path;
+  // represents the cell in the bottom right
+  int target;
+  // determines if the search is finished or not
+  boolean finished;
+  // represents the cell in the top left
+  int firstCell;
+  // the number of cells taken off the queue so far
+  int expansions;
+  // scratch space for the ids of a cell's neighbors
+  int[] neighbors;
+
+  // starting constructor for BFS, from the top left to the bottom right
+  BreadthFirstSearch(MazeGrid grid) {
+    this(grid, 0, grid.size() - 1);
+  }
+
+  // constructor for a BFS between any two cells
+  BreadthFirstSearch(MazeGrid grid, int firstCell, int target) {
+    this.grid = grid;
+    this.cameFromEdge = new int[grid.size()];
+    this.worklist = new int[grid.size()];
+    this.visited = new VisitedCells(grid.size());
+    this.path = new BitSet(grid.size());
+    this.neighbors = new int[4];
+
+    this.reset(firstCell, target);
+  }
+
+  // EFFECT: forgets everything found so far and starts over between the given
+  // cells, keeping the arrays it already has
+  public void reset(int firstCell, int target) {
+    this.visited.clear();
+    this.path.clear();
+    this.head = 0;
+    this.count = 0;
+    this.expansions = 0;
+    this.firstCell = firstCell;
+    this.target = target;
+    this.finished = false;
+
+    this.enqueue(firstCell, firstCell);
+  }
+
+  // EFFECT: goes through the worklist to find
+  // the target cell
+  public boolean search() {
+    if (this.count > 0 && !this.finished) {
+      int next = this.worklist[this.head];
+      this.head = this.head + 1 == this.worklist.length ? 0 : this.head + 1;
+      this.count--;
+      this.expansions++;
+
+      if (next == this.target) {
+        this.finished = true;
+        this.reconstruct(next);
+      }
+      else {
+        int found = this.grid.neighbors(next, this.neighbors);
+
+        for (int i = 0; i < found; i++) {
+          if (!this.visited.get(this.neighbors[i])) {
+            this.enqueue(this.neighbors[i], next);
+          }
+        }
+      }
+    }
+
+    return this.finished;
+  }
+
+  // EFFECT: marks the given cell as seen and adds it to the back of the queue,
+  // remembering that it was reached from the given cell
+  void enqueue(int cell, int from) {
+    int tail = this.head + this.count;
+
+    this.visited.see(cell);
+    this.cameFromEdge[cell] = from;
+    this.worklist[tail >= this.worklist.length ? tail - this.worklist.length : tail] = cell;
+    this.count++;
+  }
+
+  // EFFECT: tells the given listener about every cell seen so far, and then
+  // about each new cell as soon as it is seen
+  public void listen(IVisitListener listener) {
+    this.visited.listen(listener);
+  }
+
+  // the number of cells expanded so far
+  public int expansions() {
+    return this.expansions;
+  }
+
+  // the number of cells seen but not yet expanded
+  public int frontier() {
+    return this.count;
+  }
+
+  // one bit per cell, set for the cells seen so far
+  public BitSet visitedCells() {
+    return this.visited.cells;
+  }
+
+  // one bit per cell, set for the cells of the path once it is found
+  public BitSet pathCells() {
+    return this.path;
+  }
+
+  // EFFECT: determines if a cell is a part of
+  // the final path
+  public void reconstruct(int cell) {
+
+    this.path.set(this.firstCell);
+
+    while (cell != this.firstCell) {
+      this.path.set(cell);
+      cell = this.cameFromEdge[cell];
+    }
+
+  }
+
+}
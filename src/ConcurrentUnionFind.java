@@ -0,0 +1,59 @@
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// A disjoint set of cell ids that many threads can find and join at once,
+// every link goes from a root to a root with a higher id, so the links can
+// never form a cycle no matter how the threads interleave
+class ConcurrentUnionFind {
+  // the parent of each cell id, a root is its own parent
+  AtomicIntegerArray parent;
+
+  // starting constructor, every cell id begins in its own set
+  ConcurrentUnionFind(int size) {
+    this.parent = new AtomicIntegerArray(size);
+
+    for (int i = 0; i < size; i++) {
+      this.parent.set(i, i);
+    }
+  }
+
+  // Finds the representative of the given cell id
+  // EFFECT: tries to point each cell on the way at its grandparent, losing
+  // the race to another thread is harmless since either link is an ancestor
+  public int find(int cell) {
+    while (true) {
+      int parent = this.parent.get(cell);
+
+      if (parent == cell) {
+        return cell;
+      }
+
+      int grandparent = this.parent.get(parent);
+
+      if (grandparent != parent) {
+        this.parent.compareAndSet(cell, parent, grandparent);
+      }
+      cell = grandparent;
+    }
+  }
+
+  // EFFECT: joins the sets of the two given cell ids
+  // returns false if they were already in the same set
+  public boolean union(int a, int b) {
+    while (true) {
+      int rootA = this.find(a);
+      int rootB = this.find(b);
+
+      if (rootA == rootB) {
+        return false;
+      }
+
+      int low = Math.min(rootA, rootB);
+
+      // only succeeds if low is still a root, otherwise look again
+      if (this.parent.compareAndSet(low, low, Math.max(rootA, rootB))) {
+        return true;
+      }
+    }
+  }
+
+}
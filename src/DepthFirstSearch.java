@@ -0,0 +1,152 @@
+import java.util.Arrays;
+import java.util.BitSet;
+
+// represents a depth first search over the cell ids of a grid, keeping its
+// stack in an int array that doubles when it fills up
+class DepthFirstSearch implements ISolver {
+  // represents the maze being searched
+  MazeGrid grid;
+  // represents the cell each cell was first reached from
+  int[] cameFromEdge;
+  // represents a stack of cell ids, the top is at size - 1
+  int[] worklist;
+  // the number of cells on the stack
+  int size;
+  // the cells seen so far, and whatever is listening for new ones
+  VisitedCells visited;
+  // one bit per cell, set for the cells of the final path
+  BitSet path;
+  // represents the cell in the bottom right
+  int target;
+  // determines if the search is finished or not
+  boolean finished;
+  // represents the cell in the top left
+  int firstCell;
+  // the number of cells taken off the stack so far
+  int expansions;
+  // scratch space for the ids of a cell's neighbors
+  int[] neighbors;
+
+  // starting constructor, from the top left to the bottom right
+  DepthFirstSearch(MazeGrid grid) {
+    this(grid, 0, grid.size() - 1);
+  }
+
+  // constructor for a DFS between any two cells
+  DepthFirstSearch(MazeGrid grid, int firstCell, int target) {
+    this.grid = grid;
+    this.cameFromEdge = new int[grid.size()];
+    this.worklist = new int[16];
+    this.visited = new VisitedCells(grid.size());
+    this.path = new BitSet(grid.size());
+    this.neighbors = new int[4];
+
+    this.reset(firstCell, target);
+  }
+
+  // EFFECT: forgets everything found so far and starts over between the given
+  // cells, keeping the arrays it already has
+  public void reset(int firstCell, int target) {
+    this.visited.clear();
+    this.path.clear();
+    this.size = 0;
+    this.expansions = 0;
+    this.firstCell = firstCell;
+    this.target = target;
+    this.finished = false;
+
+    this.push(firstCell, firstCell);
+  }
+
+  // EFFECT: goes through the worklist to find
+  // the target cell
+  public boolean search() {
+    if (this.size > 0 && !this.finished) {
+      this.expand(this.worklist[--this.size]);
+    }
+
+    return this.finished;
+  }
+
+  // EFFECT: runs the search until it finds the target or runs out of cells,
+  // without stopping between expansions the way search does
+  public boolean solve() {
+    while (this.size > 0 && !this.finished) {
+      this.expand(this.worklist[--this.size]);
+    }
+
+    return this.finished;
+  }
+
+  // EFFECT: expands the given cell just taken off the stack, pushing every
+  // neighbor that has not been seen, or finishes if it is the target
+  void expand(int next) {
+    this.expansions++;
+
+    if (next == this.target) {
+      this.finished = true;
+      this.reconstruct(next);
+    }
+    else {
+      int found = this.grid.neighbors(next, this.neighbors);
+
+      for (int i = 0; i < found; i++) {
+        if (!this.visited.get(this.neighbors[i])) {
+          this.push(this.neighbors[i], next);
+        }
+      }
+    }
+  }
+
+  // EFFECT: marks the given cell as seen and pushes it on the stack, doubling
+  // the stack first if it is full
+  void push(int cell, int from) {
+    if (this.size == this.worklist.length) {
+      this.worklist = Arrays.copyOf(this.worklist, this.worklist.length * 2);
+    }
+
+    this.visited.see(cell);
+    this.cameFromEdge[cell] = from;
+    this.worklist[this.size++] = cell;
+  }
+
+  // EFFECT: tells the given listener about every cell seen so far, and then
+  // about each new cell as soon as it is seen
+  public void listen(IVisitListener listener) {
+    this.visited.listen(listener);
+  }
+
+  // the number of cells expanded so far
+  public int expansions() {
+    return this.expansions;
+  }
+
+  // the number of cells seen but not yet expanded
+  public int frontier() {
+    return this.size;
+  }
+
+  // one bit per cell, set for the cells seen so far
+  public BitSet visitedCells() {
+    return this.visited.cells;
+  }
+
+  // one bit per cell, set for the cells of the path once it is found
+  public BitSet pathCells() {
+    return this.path;
+  }
+
+  // EFFECT: determines if a cell is a part of
+  // the final path
+  public void reconstruct(int cell) {
+
+    this.path.set(this.firstCell);
+
+    while (cell != this.firstCell) {
+      this.path.set(cell);
+      cell = this.cameFromEdge[cell];
+    }
+
+  }
+
+}
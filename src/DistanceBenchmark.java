@@ -0,0 +1,42 @@
+import java.util.concurrent.ForkJoinPool;
+
+// Times finding the distance from the top left to every cell a level at a
+// time, splitting the levels at least as wide as a given number of cells
+// between the threads of the common pool
+class DistanceBenchmark implements IBenchmark {
+  // the name the benchmark is printed and chosen by
+  String name;
+  // the narrowest level that is split between threads
+  int sequentialBelow;
+  // the maze, made once by setUp
+  MazeGrid grid;
+
+  // starting constructor for a benchmark with the given name that splits the
+  // levels at least as wide as the given number of cells
+  DistanceBenchmark(String name, int sequentialBelow) {
+    this.name = name;
+    this.sequentialBelow = sequentialBelow;
+  }
+
+  // the name the benchmark is printed and chosen by
+  public String name() {
+    return this.name;
+  }
+
+  // EFFECT: makes the maze
+  public void setUp(int size, long seed) {
+    this.grid = Generator.KRUSKAL.make(size, size, seed);
+  }
+
+  // EFFECT: finds the distance to every cell once
+  public int run() {
+    int[] distance = LevelBreadthFirstSearch.distances(this.grid, 0, ForkJoinPool.commonPool(),
+        this.sequentialBelow);
+    return distance[distance.length - 1];
+  }
+
+  // EFFECT: lets go of the maze
+  public void tearDown() {
+    this.grid = null;
+  }
+}
@@ -0,0 +1,31 @@
+import java.util.Random;
+
+// Times shuffling every edge of a maze into the order kruskal's algorithm
+// tries them
+class EdgeOrderBenchmark implements IBenchmark {
+  // the size of the maze
+  int size;
+  // the seed the edges are shuffled from
+  long seed;
+
+  // the name the benchmark is printed and chosen by
+  public String name() {
+    return "edgeOrder";
+  }
+
+  // EFFECT: remembers the size and seed, the shuffle needs nothing else
+  public void setUp(int size, long seed) {
+    this.size = size;
+    this.seed = seed;
+  }
+
+  // EFFECT: shuffles the edges once
+  public int run() {
+    return MazeGrid.shuffledEdges(this.size, this.size, new Random(this.seed))[0];
+  }
+
+  // EFFECT: nothing to let go of
+  public void tearDown() {
+    // the shuffle keeps nothing between runs
+  }
+}
@@ -0,0 +1,110 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// Generates a maze one row at a time with eller's algorithm, keeping only the
+// set each cell of the current row belongs to, so memory grows with the width
+// and not with the height
+class EllerGenerator {
+  // the number of cells across
+  int width;
+  // the number of rows to generate
+  int height;
+  // represents a random
+  Random rand;
+  // the label of the set each cell of the current row belongs to, in [0, width)
+  int[] labels;
+  // joins labels that have been merged within the current row
+  UnionFind sets;
+  // the last x in the current row that belongs to each set
+  int[] lastInSet;
+  // determines if a set has already carried on to the next row
+  boolean[] carried;
+  // determines if a label is taken by a cell of the next row
+  boolean[] taken;
+  // the walls of the current row, handed to the sink
+  boolean[] eastWalls;
+  boolean[] southWalls;
+
+  // starting constructor for the generator
+  EllerGenerator(int width, int height, Random rand) {
+    this.width = width;
+    this.height = height;
+    this.rand = rand;
+    this.labels = new int[width];
+    this.sets = new UnionFind(width);
+    this.lastInSet = new int[width];
+    this.carried = new boolean[width];
+    this.taken = new boolean[width];
+    this.eastWalls = new boolean[width];
+    this.southWalls = new boolean[width];
+
+    for (int x = 0; x < width; x++) {
+      this.labels[x] = x;
+    }
+  }
+
+  // EFFECT: generates every row in order, handing each one to the given sink
+  // as soon as it is finished
+  public void generate(IRowSink sink) {
+    for (int y = 0; y < this.height; y++) {
+      this.nextRow(y == this.height - 1);
+      sink.acceptRow(y, this.eastWalls, this.southWalls);
+    }
+  }
+
+  // EFFECT: decides the east and south walls of the current row, then labels
+  // the cells of the row below it
+  void nextRow(boolean last) {
+    this.sets.reset();
+
+    // joins neighbors in different sets, always on the last row so it
+    // ends up as one tree
+    for (int x = 0; x < this.width - 1; x++) {
+      this.eastWalls[x] = true;
+
+      if ((last || this.rand.nextBoolean())
+          && this.sets.union(this.labels[x], this.labels[x + 1])) {
+        this.eastWalls[x] = false;
+      }
+    }
+    this.eastWalls[this.width - 1] = true;
+
+    if (last) {
+      Arrays.fill(this.southWalls, true);
+      return;
+    }
+
+    for (int x = 0; x < this.width; x++) {
+      this.labels[x] = this.sets.find(this.labels[x]);
+      this.lastInSet[this.labels[x]] = x;
+      this.carried[x] = false;
+      this.taken[x] = false;
+    }
+
+    // every set has to carry on through at least one cell, otherwise it
+    // would be cut off from the rest of the maze
+    for (int x = 0; x < this.width; x++) {
+      int set = this.labels[x];
+      this.southWalls[x] = !(this.rand.nextBoolean()
+          || (this.lastInSet[set] == x && !this.carried[set]));
+
+      if (!this.southWalls[x]) {
+        this.carried[set] = true;
+        this.taken[set] = true;
+      }
+    }
+
+    // cells below a wall start out in a set of their own
+    int free = 0;
+    for (int x = 0; x < this.width; x++) {
+      if (this.southWalls[x]) {
+        while (this.taken[free]) {
+          free++;
+        }
+        this.taken[free] = true;
+        this.labels[x] = free;
+      }
+    }
+  }
+
+}
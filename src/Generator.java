@@ -0,0 +1,26 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// represents the ways a maze can be generated, each giving the same maze for
+// the same seed every time
+enum Generator {
+  KRUSKAL, BORUVKA, ELLER;
+
+  // a maze of the given size made from the given seed
+  MazeGrid make(int width, int height, long seed) {
+    if (this == KRUSKAL) {
+      return KruskalGenerator.generate(width, height,
+          MazeGrid.shuffledEdges(width, height, new Random(seed)));
+    }
+    else if (this == BORUVKA) {
+      return BoruvkaGenerator.generate(width, height,
+          MazeGrid.shuffledEdges(width, height, new Random(seed)), ForkJoinPool.commonPool());
+    }
+    else {
+      GridRowSink sink = new GridRowSink(width, height);
+
+      new EllerGenerator(width, height, new Random(seed)).generate(sink);
+      return sink.grid;
+    }
+  }
+}
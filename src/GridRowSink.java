@@ -0,0 +1,22 @@
+// Writes the rows it is given into a MazeGrid
+class GridRowSink implements IRowSink {
+  // the grid being filled in
+  MazeGrid grid;
+
+  // starting constructor, the grid begins with every wall standing
+  GridRowSink(int width, int height) {
+    this.grid = new MazeGrid(width, height);
+  }
+
+  // EFFECT: knocks down the walls of the given row that are open
+  public void acceptRow(int y, boolean[] eastWalls, boolean[] southWalls) {
+    for (int x = 0; x < this.grid.width; x++) {
+      if (!eastWalls[x]) {
+        this.grid.removeEastWall(y * this.grid.width + x);
+      }
+      if (!southWalls[x]) {
+        this.grid.removeSouthWall(y * this.grid.width + x);
+      }
+    }
+  }
+}
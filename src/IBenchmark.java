@@ -0,0 +1,16 @@
+// One part of making or solving a maze to be timed
+interface IBenchmark {
+  // the name the benchmark is printed and chosen by
+  String name();
+
+  // EFFECT: gets ready to run on a square maze of the given size made from
+  // the given seed, none of this being timed
+  void setUp(int size, long seed);
+
+  // EFFECT: does the work being timed once
+  // returns something that depends on the work, so it can not be skipped
+  int run();
+
+  // EFFECT: lets go of anything made by setUp
+  void tearDown();
+}
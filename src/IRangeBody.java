@@ -0,0 +1,5 @@
+// A piece of work over a range of indices that can be split between threads
+interface IRangeBody {
+  // EFFECT: does the work for every index from start up to but not including end
+  void apply(int start, int end);
+}
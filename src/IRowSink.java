@@ -0,0 +1,7 @@
+// Something that takes in the rows of a maze one at a time, top to bottom
+interface IRowSink {
+  // EFFECT: takes in the finished row at the given y, where eastWalls[x] and
+  // southWalls[x] tell if cell x of the row has a wall to its east or south
+  // (the arrays are reused for the next row, so copy anything that is kept)
+  void acceptRow(int y, boolean[] eastWalls, boolean[] southWalls);
+}
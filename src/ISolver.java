@@ -0,0 +1,28 @@
+import java.util.BitSet;
+
+// represents a search through a maze that can be run one cell at a time
+interface ISolver {
+  // EFFECT: expands one more cell
+  // returns true once the search has found its target
+  boolean search();
+
+  // the number of cells expanded so far
+  int expansions();
+
+  // the number of cells seen but not yet expanded
+  int frontier();
+
+  // one bit per cell, set for the cells seen so far
+  BitSet visitedCells();
+
+  // one bit per cell, set for the cells of the path once it is found
+  BitSet pathCells();
+
+  // EFFECT: forgets everything found so far and starts over between the given
+  // cells, keeping the arrays it already has
+  void reset(int firstCell, int target);
+
+  // EFFECT: tells the given listener about every cell seen so far, and then
+  // about each new cell as soon as it is seen
+  void listen(IVisitListener listener);
+}
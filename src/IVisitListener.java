@@ -0,0 +1,5 @@
+// Something that wants to hear about cells as a search sees them
+interface IVisitListener {
+  // EFFECT: takes in a cell a search has just seen for the first time
+  void visited(int cell);
+}
@@ -0,0 +1,103 @@
+import java.util.Arrays;
+
+// represents a priority queue of cell ids ordered by a long key, where each
+// cell remembers its place in the heap so its key can be lowered in place
+class IndexedMinHeap {
+  // the cell ids in heap order, the smallest key at index 0
+  int[] heap;
+  // the place of each cell in the heap, or -1 when it is not in it
+  int[] position;
+  // the key of each cell
+  long[] keys;
+  // the number of cells in the heap
+  int size;
+
+  // starting constructor for a heap of cell ids below the given capacity
+  IndexedMinHeap(int capacity) {
+    this.heap = new int[capacity];
+    this.position = new int[capacity];
+    this.keys = new long[capacity];
+
+    Arrays.fill(this.position, -1);
+  }
+
+  // EFFECT: takes every cell out of the heap
+  public void clear() {
+    for (int i = 0; i < this.size; i++) {
+      this.position[this.heap[i]] = -1;
+    }
+    this.size = 0;
+  }
+
+  // determines if the heap has no cells in it
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  // EFFECT: adds the given cell with the given key, or lowers its key if it is
+  // already in the heap with a larger one
+  public void push(int cell, long key) {
+    if (this.position[cell] < 0) {
+      this.heap[this.size] = cell;
+      this.position[cell] = this.size;
+      this.keys[cell] = key;
+      this.size++;
+      this.siftUp(this.size - 1);
+    }
+    else if (key < this.keys[cell]) {
+      this.keys[cell] = key;
+      this.siftUp(this.position[cell]);
+    }
+  }
+
+  // EFFECT: removes the cell with the smallest key
+  // returns that cell
+  public int pop() {
+    int min = this.heap[0];
+
+    this.size--;
+    this.position[min] = -1;
+
+    if (this.size > 0) {
+      this.heap[0] = this.heap[this.size];
+      this.position[this.heap[0]] = 0;
+      this.siftDown(0);
+    }
+    return min;
+  }
+
+  // EFFECT: moves the cell at the given index up until its parent is smaller
+  void siftUp(int index) {
+    int cell = this.heap[index];
+
+    while (index > 0 && this.keys[this.heap[(index - 1) / 2]] > this.keys[cell]) {
+      this.heap[index] = this.heap[(index - 1) / 2];
+      this.position[this.heap[index]] = index;
+      index = (index - 1) / 2;
+    }
+    this.heap[index] = cell;
+    this.position[cell] = index;
+  }
+
+  // EFFECT: moves the cell at the given index down until its children are larger
+  void siftDown(int index) {
+    int cell = this.heap[index];
+
+    while (2 * index + 1 < this.size) {
+      int child = 2 * index + 1;
+
+      if (child + 1 < this.size && this.keys[this.heap[child + 1]] < this.keys[this.heap[child]]) {
+        child++;
+      }
+      if (this.keys[this.heap[child]] >= this.keys[cell]) {
+        break;
+      }
+      this.heap[index] = this.heap[child];
+      this.position[this.heap[index]] = index;
+      index = child;
+    }
+    this.heap[index] = cell;
+    this.position[cell] = index;
+  }
+
+}
@@ -0,0 +1,84 @@
+// Builds a maze with kruskal's algorithm, trying the edges in the given order
+// and knocking down every wall between two cells that are not yet joined. It
+// can stop after any number of edges and pick up where it left off, so a
+// maze can be built a few walls at a time; generate runs it to the end at once
+class KruskalGenerator {
+  // the maze being built, with every wall standing at the start
+  MazeGrid grid;
+  // the order the edges are tried in
+  int[] edgeOrder;
+  // the cells joined so far
+  UnionFind sets;
+  // the position in edgeOrder of the next edge to try
+  int next;
+  // the number of walls knocked down so far, and the number that joins every
+  // cell into one tree
+  int inTree;
+  int treeSize;
+  // where the work of the union-find is recorded once the maze is finished
+  MazeMetrics metrics;
+
+  // starting constructor for a maze of the given size whose walls come down
+  // in the given edge order, with no edge tried yet
+  KruskalGenerator(int width, int height, int[] edgeOrder) {
+    this(width, height, edgeOrder, MazeMetrics.GLOBAL);
+  }
+
+  // constructor for a maze that records into the given metrics
+  KruskalGenerator(int width, int height, int[] edgeOrder, MazeMetrics metrics) {
+    this.grid = new MazeGrid(width, height);
+    this.edgeOrder = edgeOrder;
+    this.sets = new UnionFind(width * height);
+    this.treeSize = width * height - 1;
+    this.metrics = metrics;
+  }
+
+  // a maze of the given size whose walls come down in the given edge order,
+  // stopping as soon as every cell has been joined into one tree
+  public static MazeGrid generate(int width, int height, int[] edgeOrder) {
+    long start = System.nanoTime();
+    KruskalGenerator kruskal = new KruskalGenerator(width, height, edgeOrder);
+
+    kruskal.step(edgeOrder.length);
+    MazeMetrics.GLOBAL.time(Phase.MAKE_MAZE, start);
+    return kruskal.grid;
+  }
+
+  // EFFECT: tries up to the given number of edges, knocking down the walls
+  // that join two sets of cells
+  // returns true once every cell has been joined into one tree
+  public boolean step(int edges) {
+    if (this.finished()) {
+      return true;
+    }
+
+    // the loop keeps its state in locals and writes it back once at the end
+    int i = this.next;
+    int end = (int) Math.min(this.edgeOrder.length, (long) i + edges);
+    int inTree = this.inTree;
+
+    for (; i < end && inTree < this.treeSize; i++) {
+      int cheapest = this.edgeOrder[i];
+
+      if (this.sets.union(this.grid.edgeFrom(cheapest), this.grid.edgeTo(cheapest))) {
+        this.grid.removeWallAt(cheapest);
+        inTree++;
+      }
+    }
+
+    this.next = i;
+    this.inTree = inTree;
+
+    if (this.finished()) {
+      this.metrics.unionFind(this.sets.finds, this.inTree, this.sets.hops);
+      return true;
+    }
+    return false;
+  }
+
+  // determines if every cell has been joined into one tree, or every edge
+  // has been tried
+  public boolean finished() {
+    return this.inTree >= this.treeSize || this.next >= this.edgeOrder.length;
+  }
+}
@@ -0,0 +1,98 @@
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts how long something took in buckets that each hold twice the time of
+// the one before, so recording a time is a few adds that never block and any
+// percentile can be read to within a factor of two
+class LatencyHistogram {
+  // bucket i counts the times from 2^i up to 2^(i + 1) nanoseconds, bucket 0
+  // also taking any time under one nanosecond
+  LongAdder[] buckets;
+  // the number of times recorded and their sum in nanoseconds
+  LongAdder count;
+  LongAdder total;
+  // the longest time recorded in nanoseconds
+  LongAccumulator max;
+
+  // starting constructor for an empty histogram
+  LatencyHistogram() {
+    this.buckets = new LongAdder[64];
+    for (int i = 0; i < this.buckets.length; i++) {
+      this.buckets[i] = new LongAdder();
+    }
+    this.count = new LongAdder();
+    this.total = new LongAdder();
+    this.max = new LongAccumulator(Math::max, 0);
+  }
+
+  // EFFECT: records one time of the given number of nanoseconds
+  void record(long nanos) {
+    this.buckets[LatencyHistogram.bucketOf(nanos)].increment();
+    this.count.increment();
+    this.total.add(nanos);
+    this.max.accumulate(nanos);
+  }
+
+  // the bucket a time of the given number of nanoseconds falls in
+  static int bucketOf(long nanos) {
+    return 63 - Long.numberOfLeadingZeros(Math.max(nanos, 1));
+  }
+
+  // the number of times recorded
+  long count() {
+    return this.count.sum();
+  }
+
+  // the mean time recorded in nanoseconds, 0 if there are none
+  double mean() {
+    long count = this.count.sum();
+    return count == 0 ? 0 : (double) this.total.sum() / count;
+  }
+
+  // a time in nanoseconds that at least the given fraction of the recorded
+  // times are under, being the top of the bucket the percentile falls in,
+  // or 0 if there are none
+  long percentile(double fraction) {
+    long[] counts = new long[this.buckets.length];
+    long count = 0;
+
+    // the buckets are read once, since other threads may still be recording
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = this.buckets[i].sum();
+      count = count + counts[i];
+    }
+
+    long wanted = (long) Math.ceil(fraction * count);
+    long seen = 0;
+
+    for (int i = 0; i < counts.length; i++) {
+      seen = seen + counts[i];
+      if (count > 0 && seen >= wanted) {
+        return i >= 62 ? Long.MAX_VALUE : 1L << (i + 1);
+      }
+    }
+    return 0;
+  }
+
+  // the longest time recorded in nanoseconds
+  long max() {
+    return this.max.get();
+  }
+
+  // EFFECT: forgets every time recorded
+  void reset() {
+    for (LongAdder bucket : this.buckets) {
+      bucket.reset();
+    }
+    this.count.reset();
+    this.total.reset();
+    this.max.reset();
+  }
+
+  // the histogram as one line, with its times in milliseconds
+  public String toString() {
+    return String.format("%d runs, mean %.2f ms, p50 < %.2f ms, p99 < %.2f ms, max %.2f ms",
+        this.count(), this.mean() / 1e6, this.percentile(0.5) / 1e6, this.percentile(0.99) / 1e6,
+        this.max() / 1e6);
+  }
+}
@@ -0,0 +1,124 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Finds the distance from one cell to every other in a single sweep, a whole
+// level of the breadth first search at a time. A wide level is split between
+// the threads of a fork join pool: each thread claims the unseen neighbors of
+// its share of the frontier with a compare and set on a shared bitset, so a
+// cell joins the next frontier exactly once, and copies what it claimed into
+// the next frontier in one block. Narrow levels, which is most of them in a
+// maze whose passages wind, are cheaper to expand on the calling thread
+class LevelBreadthFirstSearch {
+  // frontiers smaller than this are expanded on the calling thread
+  static final int SEQUENTIAL_BELOW = 1 << 12;
+  // the number of frontier cells each thread expands at a time
+  static final int GRAIN = 1 << 10;
+  // the number of distances each thread fills in at a time before the search
+  static final int FILL_GRAIN = 1 << 14;
+
+  // the number of steps from the given cell to every cell of the given grid,
+  // -1 for the cells it can not reach
+  public static int[] distances(MazeGrid grid, int start, ForkJoinPool pool) {
+    return LevelBreadthFirstSearch.distances(grid, start, pool, SEQUENTIAL_BELOW);
+  }
+
+  // the number of steps from the given cell to every cell of the given grid,
+  // -1 for the cells it can not reach, splitting the levels with at least the
+  // given number of cells between the pool's threads
+  static int[] distances(MazeGrid grid, int start, ForkJoinPool pool, int sequentialBelow) {
+    int[] distance = new int[grid.size()];
+    AtomicLongArray claimed = new AtomicLongArray((grid.size() + 63) / 64);
+    AtomicInteger claimedCount = new AtomicInteger();
+    int[] frontier = new int[grid.size()];
+    int[] next = new int[grid.size()];
+    int count = 1;
+    int level = 0;
+
+    pool.invoke(new RangeTask((first, last) -> Arrays.fill(distance, first, last, -1), 0,
+        distance.length, FILL_GRAIN));
+
+    distance[start] = 0;
+    frontier[0] = start;
+
+    while (count > 0) {
+      if (count < sequentialBelow) {
+        count = LevelBreadthFirstSearch.expand(grid, distance, frontier, count, next, level + 1);
+      }
+      else {
+        int[] current = frontier;
+        int[] found = next;
+        int depth = level + 1;
+
+        // the cells claimed on earlier levels already have a distance, so
+        // only a cell being claimed on this level can be seen as unclaimed
+        claimedCount.set(0);
+        pool.invoke(new RangeTask((from, to) -> {
+          int[] mine = new int[4 * (to - from)];
+          int[] neighbors = new int[4];
+          int claims = 0;
+
+          for (int i = from; i < to; i++) {
+            int neighborCount = grid.neighbors(current[i], neighbors);
+
+            for (int j = 0; j < neighborCount; j++) {
+              int cell = neighbors[j];
+
+              if (distance[cell] == -1 && LevelBreadthFirstSearch.claim(claimed, cell)) {
+                distance[cell] = depth;
+                mine[claims++] = cell;
+              }
+            }
+          }
+          System.arraycopy(mine, 0, found, claimedCount.getAndAdd(claims), claims);
+        }, 0, count, GRAIN));
+        count = claimedCount.get();
+      }
+
+      int[] swap = frontier;
+      frontier = next;
+      next = swap;
+      level++;
+    }
+    return distance;
+  }
+
+  // EFFECT: gives every unseen neighbor of the first count cells of the
+  // given frontier the given distance, and adds it to the next frontier
+  // returns the number of cells in the next frontier
+  static int expand(MazeGrid grid, int[] distance, int[] frontier, int count, int[] next,
+      int depth) {
+    int[] neighbors = new int[4];
+    int found = 0;
+
+    for (int i = 0; i < count; i++) {
+      int neighborCount = grid.neighbors(frontier[i], neighbors);
+
+      for (int j = 0; j < neighborCount; j++) {
+        if (distance[neighbors[j]] == -1) {
+          distance[neighbors[j]] = depth;
+          next[found++] = neighbors[j];
+        }
+      }
+    }
+    return found;
+  }
+
+  // EFFECT: sets the bit of the given cell, unless another thread sets it
+  // first
+  // returns true if this thread set it
+  static boolean claim(AtomicLongArray bits, int cell) {
+    int word = cell >>> 6;
+    long bit = 1L << cell;
+    long current = bits.get(word);
+
+    while ((current & bit) == 0) {
+      if (bits.compareAndSet(word, current, current | bit)) {
+        return true;
+      }
+      current = bits.get(word);
+    }
+    return false;
+  }
+}
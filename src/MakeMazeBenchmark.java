@@ -0,0 +1,30 @@
+import java.util.Random;
+
+// Times kruskal's algorithm over edges that have already been shuffled
+class MakeMazeBenchmark implements IBenchmark {
+  // the size of the maze
+  int size;
+  // the order the edges are tried in
+  int[] edgeOrder;
+
+  // the name the benchmark is printed and chosen by
+  public String name() {
+    return "makeMaze";
+  }
+
+  // EFFECT: shuffles the edges the maze is made from
+  public void setUp(int size, long seed) {
+    this.size = size;
+    this.edgeOrder = MazeGrid.shuffledEdges(size, size, new Random(seed));
+  }
+
+  // EFFECT: makes the maze once
+  public int run() {
+    return (int) KruskalGenerator.generate(this.size, this.size, this.edgeOrder).walls[0];
+  }
+
+  // EFFECT: lets go of the edge order
+  public void tearDown() {
+    this.edgeOrder = null;
+  }
+}
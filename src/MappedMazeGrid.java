@@ -0,0 +1,45 @@
+import java.nio.LongBuffer;
+
+// A maze whose walls are read straight out of a file mapped into memory by
+// MazeFile, so opening it copies nothing and costs the same at any size. The
+// searches take it like any other grid
+class MappedMazeGrid extends MazeGrid {
+  // the seed the maze was made from
+  long seed;
+  // the walls in the file, laid out the same as a MazeGrid's long array
+  LongBuffer words;
+
+  // starting constructor over the walls of a mapped file
+  MappedMazeGrid(int width, int height, long seed, LongBuffer words) {
+    super(width, height, null);
+    this.seed = seed;
+    this.words = words;
+  }
+
+  // a new grid in memory with the same walls as this one
+  public MazeGrid copy() {
+    MazeGrid copy = new MazeGrid(this.width, this.height);
+
+    this.words.duplicate().get(copy.walls);
+    return copy;
+  }
+
+  // determines if the given wall bit is standing
+  boolean wallAt(long bit) {
+    return (this.words.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+  }
+
+  // EFFECT: knocks down the given wall bit, writing it through to the file
+  // throws ReadOnlyBufferException if the file was opened to be read only
+  void removeWallAt(long bit) {
+    int word = (int) (bit >>> 6);
+
+    this.words.put(word, this.words.get(word) & ~(1L << bit));
+  }
+
+  // the two wall bits of the given cell, its east wall in the low bit and its
+  // south wall above it
+  int wallBits(int cell) {
+    return (int) (this.words.get(cell >>> 5) >>> (2 * cell)) & 3;
+  }
+}
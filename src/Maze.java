@@ -1,21 +1,40 @@
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.ReadOnlyBufferException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.imageio.ImageIO;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javalib.impworld.World;
 import javalib.impworld.WorldScene;
+import javalib.worldimages.ComputedPixelImage;
 import javalib.worldimages.OutlineMode;
 import javalib.worldimages.RectangleImage;
 import javalib.worldimages.TextImage;
 import javalib.worldimages.WorldImage;
 import tester.Tester;
 
-import java.util.LinkedList;
-import java.util.Queue;
-
-import java.util.Stack;
-
 // Utility class
 class Utils {
 
@@ -94,11 +113,17 @@ class Cell {
 
   // EFFECT: changes the color of a given cell based on its location
   void changeColor(int width, int height) {
+    this.changeColor(width, height, true);
+  }
+
+  // EFFECT: changes the color of a given cell based on its location, only
+  // showing that it has been looked at if the given flag is set
+  void changeColor(int width, int height, boolean showProcessed) {
 
     if (this.path) {
       color = Color.BLUE;
     }
-    else if (this.processed) {
+    else if (showProcessed && this.processed) {
       color = Color.CYAN.darker().darker();
     }
     else if (this.x == 0 && this.y == 0) {
@@ -145,165 +170,27 @@ class Edge {
   Cell from;
   // a cell to the right of the edge
   Cell to;
-  // a randomized edge weight
-  int weight;
+  // the id of the wall this edge stands for in the maze's grid
+  int id;
 
   // the starting constructor of an edge
-  Edge(Cell from, Cell to, int weight) {
+  Edge(Cell from, Cell to, int id) {
     this.from = from;
     this.to = to;
-    this.weight = weight;
-  }
-
-}
-
-// A comparator used to compare edge weights
-class SortEdgesComparator implements Comparator<Edge> {
-  public int compare(Edge e1, Edge e2) {
-    return e1.weight - e2.weight;
-  }
-}
-
-// represents a breadth first search
-class BreadthFirstSearch {
-  // represents a hash map to keep track of how you
-  // reach the end cell
-  HashMap<Cell, Cell> cameFromEdge;
-  // represents a queue
-  Queue<Cell> worklist;
-  // represents the cell in the bottom right
-  Cell target;
-  // determines if the search is finished or not
-  boolean finished;
-  // represents the cell in the top left
-  Cell firstCell;
-
-  // starting constructor for BFS
-  BreadthFirstSearch(ArrayList<ArrayList<Cell>> cells, int w, int h) {
-    this.worklist = new LinkedList<Cell>();
-    this.worklist.add(cells.get(0).get(0));
-    this.target = cells.get(h - 1).get(w - 1);
-    this.firstCell = cells.get(0).get(0);
-    this.cameFromEdge = new HashMap<Cell, Cell>();
-    this.finished = false;
-
-  }
-
-  // EFFECT: goes through the worklist to find
-  // the target cell
-  public boolean search() {
-    if (!worklist.isEmpty() && !this.finished) {
-      Cell next = this.worklist.remove();
-
-      next.processed = true;
-
-      if (next.equals(this.target)) {
-        this.finished = true;
-        this.reconstruct(cameFromEdge, next);
-      }
-      else {
-        for (Cell n : next.neighborCells) {
-          if (!n.processed) {
-            n.changeProcessed();
-            worklist.add(n);
-            cameFromEdge.put(n, next);
-          }
-
-        }
-      }
-    }
-
-    return this.finished;
-  }
-
-  // EFFECT: determines if a cell is a part of
-  // the final path
-  public void reconstruct(HashMap<Cell, Cell> hash, Cell cell) {
-
-    this.firstCell.changePath();
-
-    while (!cell.equals(this.firstCell)) {
-      cell.changePath();
-      cell = hash.get(cell);
-    }
-
-  }
-
-}
-
-class DepthFirstSearch {
-  // represents a hash map to keep track of how you
-  // reach the end cell
-  HashMap<Cell, Cell> cameFromEdge;
-  // represents a stack
-  Stack<Cell> worklist;
-  // represents the cell in the bottom right
-  Cell target;
-  // determines if the search is finished or not
-  boolean finished;
-  // represents the cell in the top left
-  Cell firstCell;
-
-  // starting constructor
-  DepthFirstSearch(ArrayList<ArrayList<Cell>> cells, int w, int h) {
-    this.worklist = new Stack<Cell>();
-    this.worklist.add(cells.get(0).get(0));
-    this.target = cells.get(h - 1).get(w - 1);
-    this.firstCell = cells.get(0).get(0);
-    this.cameFromEdge = new HashMap<Cell, Cell>();
-    this.finished = false;
-
-  }
-
-  // EFFECT: goes through the worklist to find
-  // the target cell
-  public boolean search() {
-    if (!worklist.isEmpty() && !this.finished) {
-      Cell next = this.worklist.pop();
-
-      next.processed = true;
-
-      if (next.equals(this.target)) {
-        this.finished = true;
-        this.reconstruct(cameFromEdge, next);
-      }
-      else {
-        for (Cell n : next.neighborCells) {
-          if (!n.processed) {
-            n.changeProcessed();
-            worklist.add(n);
-            cameFromEdge.put(n, next);
-          }
-
-        }
-      }
-
-    }
-
-    return this.finished;
-  }
-
-  // EFFECT: determines if a cell is a part of
-  // the final path
-  public void reconstruct(HashMap<Cell, Cell> hash, Cell cell) {
-
-    this.firstCell.changePath();
-
-    while (!cell.equals(this.firstCell)) {
-      cell.changePath();
-      cell = hash.get(cell);
-    }
-
+    this.id = id;
   }
 
 }
 
 // represents the maze game
-class MazeGame extends World {
-  // represents all of the cells based on the width and height
-  ArrayList<ArrayList<Cell>> cells;
-  // represents all of the edges, connected to the list of cells
-  ArrayList<Edge> edges;
+class MazeGame extends World implements IVisitListener {
+  // the number of pixels across the inside of a drawn cell and across a wall
+  static final int CELL_PIXELS = 27;
+  static final int WALL_PIXELS = 3;
+
+  // represents the id of every edge in the random order kruskal's algorithm
+  // tries them
+  int[] edgeOrder;
   // represents a random
   Random rand;
   // represents a given width
@@ -314,225 +201,560 @@ class MazeGame extends World {
   boolean bfs;
   // represents whether or not you want to do a dfs
   boolean dfs;
+  // represents whether or not you want to do a bidirectional bfs
+  boolean bidirectional;
+  // represents whether or not you want to do an A* search
+  boolean aStar;
   // represents a breadth first search
   BreadthFirstSearch b;
   // represents a depth first search
   DepthFirstSearch d;
+  // represents a breadth first search from both ends
+  BidirectionalSearch bi;
+  // represents an A* search
+  AStarSearch a;
+  // represents the walls of the maze packed two bits to a cell
+  MazeGrid grid;
+  // answers the path between any two cells of the finished maze
+  PathIndex paths;
+
+  // the number of expansions each search takes per tick
+  int stepsPerTick;
+  // how long a search may run each tick in nanoseconds, 0 to use
+  // stepsPerTick instead
+  long frameBudget;
 
   int bfsSteps;
   int dfsSteps;
+  int biSteps;
+  int aStarSteps;
+
+  // one bit per cell, set as soon as any search sees the cell
+  BitSet visited;
+  // determines if the cells the searches have seen are drawn or hidden
+  boolean showVisited;
+
+  // one bit per cell, set for the cells of every path found so far
+  BitSet onPath;
+  // paints the cells and walls of the maze into pixels, null until the board
+  // is first drawn
+  MazeRaster raster;
+  // the raster's pixels as a javalib image, drawn once and then kept up to
+  // date one cell at a time
+  ComputedPixelImage board;
+  // one bit per cell, set when a cell has changed since the board was drawn
+  BitSet dirty;
+
+  // the seed the maze was made from, 'r' moving on to the next one
+  long seed;
+  // determines if the maze was made from the seed, which is only shown when
+  // it was
+  boolean seeded;
+  // the way each maze is made from its seed
+  Generator generator;
+  // the mazes made so far, so going back to a seed does not make it again
+  MazeCache cache;
+  // determines if the metrics are drawn over the maze, 'm' showing and
+  // hiding them
+  boolean showMetrics;
+  // builds the mazes of the next seeds while this one is played, null unless
+  // preload asks for one, in which case 'r' builds the next maze itself
+  MazePreloader preloader;
+  // the maze being built a few walls each tick, null once it is finished
+  KruskalGenerator building;
+  // the searches racing each other on threads of their own, null when there
+  // is no race, and the picture of the maze each of them is drawn on
+  SolverRace race;
+  ArrayList<RaceLane> lanes;
+
+  // initializes the beginning constructors of the game, with the maze made
+  // from a seed picked at random and built on screen
+  MazeGame(int width, int height) {
+    this(width, height, new Random().nextLong(), true);
+  }
 
-  ArrayList<Cell> visited;
+  // constructor for the maze made from the given seed, the same seed always
+  // giving the same maze
+  MazeGame(int width, int height, long seed) {
+    this(width, height, seed, false);
+  }
 
-  // initializes the beginning constructors of the game
-  MazeGame(int width, int height) {
+  // constructor for the maze made from the given seed, which when animated is
+  // built a few walls each tick instead of before the first frame
+  MazeGame(int width, int height, long seed, boolean animated) {
     this.width = width;
     this.height = height;
-    this.rand = new Random();
-    this.bfs = false;
-    this.dfs = false;
-
-    this.listOfCells();
-    this.listOfEdges();
-    this.sortEdges();
-    this.makeMaze();
-    this.connectNeighbors();
-    this.linkEdges();
-
-    this.b = new BreadthFirstSearch(this.cells, this.width, this.height);
-    this.d = new DepthFirstSearch(this.cells, this.width, this.height);
-
-    this.visited = new ArrayList<Cell>();
+    this.stepsPerTick = 1;
+    this.frameBudget = 0;
+    this.rand = new Random(seed);
+    this.showVisited = true;
+    this.seed = seed;
+    this.generator = Generator.KRUSKAL;
+    this.cache = new MazeCache(64L << 20);
+    MazeMetrics.register();
+
+    if (animated) {
+      this.buildMaze();
+    }
+    else {
+      this.loadMaze();
+    }
   }
 
   // constructor used for testing
   MazeGame(int width, int height, Random rand) {
     this.width = width;
     this.height = height;
+    this.stepsPerTick = 1;
+    this.frameBudget = 0;
     this.rand = rand;
+    this.generator = Generator.KRUSKAL;
+    this.cache = new MazeCache(64L << 20);
 
-    this.listOfCells();
-    this.listOfEdges();
-    this.sortEdges();
+    this.orderEdges();
     this.makeMaze();
-    this.connectNeighbors();
-    this.linkEdges();
-
-    this.b = new BreadthFirstSearch(this.cells, this.width, this.height);
-    this.d = new DepthFirstSearch(this.cells, this.width, this.height);
+    this.paths = new PathIndex(this.grid);
+    // this maze is not made from a seed, but 'r' and 'p' still need one to
+    // move on from
+    this.seed = rand.nextLong();
+
+    this.visited = new BitSet(width * height);
+    this.showVisited = true;
+    this.onPath = new BitSet(width * height);
+    this.dirty = new BitSet(width * height);
+    this.makeSearches();
   }
 
-  // EFFECT: Generates a list of cells
-  public void listOfCells() {
-    this.cells = new ArrayList<ArrayList<Cell>>();
-
-    for (int i = 0; i < height; i++) {
-      ArrayList<Cell> empty = new ArrayList<Cell>();
-      for (int j = 0; j < width; j++) {
-        empty.add(new Cell(j, i));
-      }
-      this.cells.add(empty);
+  // EFFECT: takes the maze for the current seed from the cache, making it
+  // only the first time, and starts the game over on it
+  void loadMaze() {
+    this.grid = this.cache.get(this.width, this.height, this.seed, this.generator);
+    this.seeded = true;
+    this.building = null;
+    this.board = null;
+    this.paths = new PathIndex(this.grid);
+    this.startOver();
+
+    if (this.preloader != null) {
+      this.preloader.prepare(this.seed + 1);
     }
   }
 
-  // EFFECT: Generates a list of edges with random edge weights
-  public void listOfEdges() {
-    this.edges = new ArrayList<Edge>();
+  // EFFECT: swaps in the maze of the next seed, which the preloader has
+  // usually finished already, so all that is left is a few assignments, or
+  // gets it ready here when there is no preloader
+  void nextMaze() {
+    if (this.preloader == null) {
+      this.install(new ReadyMaze(this.width, this.height, this.seed + 1, this.generator,
+          this.cache));
+    }
+    else {
+      this.install(this.preloader.take(this.seed + 1));
+    }
+  }
 
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        if (i > 0) {
-          this.edges.add(new Edge(this.cells.get(i - 1).get(j), this.cells.get(i).get(j),
-              Math.abs(rand.nextInt())));
-        }
+  // EFFECT: gives the game a preloader that gets the mazes after this one
+  // ready on a worker thread, starting as soon as this maze is finished
+  void preload() {
+    this.preloader = new MazePreloader(this.width, this.height, this.generator, this.cache);
 
-        if (j > 0) {
-          this.edges.add(new Edge(this.cells.get(i).get(j - 1), this.cells.get(i).get(j),
-              Math.abs(rand.nextInt())));
-        }
-      }
+    if (this.building == null) {
+      this.preloader.prepare(this.seed + 1);
     }
   }
 
-  // EFFECT: sorts the edges by edge weight from lowest to highest
-  public void sortEdges() {
-    this.edges.sort(new SortEdgesComparator());
+  // EFFECT: makes the given maze, built and drawn ahead of time, the one
+  // being played
+  void install(ReadyMaze maze) {
+    this.building = null;
+    this.seed = maze.seed;
+    this.seeded = true;
+    this.grid = maze.grid;
+    this.paths = maze.paths;
+    this.raster = maze.raster;
+    this.board = maze.board;
+    this.startOver();
   }
 
-  // EFFECT: uses kruskal's algorithm to create a minimum spanning tree
-  public void makeMaze() {
-    Utils utils = new Utils();
-    HashMap<Cell, Cell> representatives = new HashMap<Cell, Cell>();
-    ArrayList<Edge> edgesInTree = new ArrayList<Edge>();
-    ArrayList<Edge> worklist = new ArrayList<Edge>(this.edges);
-
-    // initializes the HashMap
-    for (ArrayList<Cell> listOfC : this.cells) {
-      for (Cell c : listOfC) {
-        representatives.put(c, c);
-      }
-    }
-
-    while (!utils.oneTree(representatives, this.cells)) {
-      Edge cheapest = worklist.remove(0);
-      Cell repOfFromCell = utils.findRepresentative(representatives, cheapest.from);
-      Cell repOfToCell = utils.findRepresentative(representatives, cheapest.to);
+  // EFFECT: starts building the maze of the current seed from nothing, one
+  // tick at a time, so it comes together on screen wall by wall; only
+  // kruskal's algorithm can be built a step at a time, so the game makes its
+  // mazes with it from then on
+  void buildMaze() {
+    this.generator = Generator.KRUSKAL;
+    this.building = new KruskalGenerator(this.width, this.height,
+        MazeGrid.shuffledEdges(this.width, this.height, new Random(this.seed)));
+    this.grid = this.building.grid;
+    this.seeded = true;
+    this.board = null;
+    this.startOver();
+  }
 
-      if (!repOfFromCell.equals(repOfToCell)) {
+  // EFFECT: tries this tick's share of the edges of the maze being built,
+  // marking the cells beside each wall that comes down to be drawn again, and
+  // finishes the maze once every cell is joined; the share is a slice of the
+  // frame when there is a frame budget, otherwise enough edges to build any
+  // maze in a few seconds
+  void buildSome() {
+    int from = this.building.next;
+    boolean done = false;
 
-        edgesInTree.add(cheapest);
+    if (this.frameBudget > 0) {
+      long deadline = System.nanoTime() + this.frameBudget;
 
-        // changes the representative of a cell
-        representatives.put(repOfFromCell, repOfToCell);
+      while (!done && System.nanoTime() < deadline) {
+        done = this.building.step(64);
       }
     }
+    else {
+      done = this.building.step(Math.max(this.stepsPerTick, this.building.edgeOrder.length / 256));
+    }
 
-    this.edges.removeAll(edgesInTree);
-  }
-
-  // EFFECTS: connects the cells so that they are linked
-  public void connectNeighbors() {
+    for (int i = from; i < this.building.next; i++) {
+      int edge = this.building.edgeOrder[i];
 
-    for (int j = 0; j < this.height; j = j + 1) {
-      for (int i = 0; i < this.width - 1; i = i + 1) {
-        cells.get(j).get(i).connectTo(cells.get(j).get(i + 1));
-      }
-    }
-    for (int y = 0; y < this.height; y = y + 1) {
-      for (int i = 1; i < this.width; i = i + 1) {
-        cells.get(y).get(i).connectTo(cells.get(y).get(i - 1));
+      if (!this.grid.wallAt(edge)) {
+        this.dirty.set(this.grid.edgeFrom(edge));
       }
     }
-    for (int y = 1; y < this.height; y = y + 1) {
-      for (int i = 0; i < this.width; i = i + 1) {
-        cells.get(y).get(i).connectTo(cells.get(y - 1).get(i));
-      }
+
+    if (done) {
+      this.finishMaze();
     }
-    for (int y = 0; y < this.height - 1; y = y + 1) {
-      for (int i = 0; i < this.width; i = i + 1) {
-        cells.get(y).get(i).connectTo(cells.get(y + 1).get(i));
-      }
+  }
+
+  // EFFECT: keeps the maze that has just been built so it can be gone back
+  // to, and indexes its paths now that its walls are final
+  void finishMaze() {
+    this.building = null;
+    this.cache.put(new MazeKey(this.width, this.height, this.seed, this.generator), this.grid);
+    this.paths = new PathIndex(this.grid);
+
+    if (this.preloader != null) {
+      this.preloader.prepare(this.seed + 1);
     }
+  }
 
+  // EFFECT: stops every search and forgets what they found, with fresh
+  // searches ready on the current grid
+  void startOver() {
+    this.endRace();
+    this.bfs = false;
+    this.dfs = false;
+    this.bidirectional = false;
+    this.aStar = false;
+    this.bfsSteps = 0;
+    this.dfsSteps = 0;
+    this.biSteps = 0;
+    this.aStarSteps = 0;
+    this.visited = new BitSet(this.width * this.height);
+    this.onPath = new BitSet(this.width * this.height);
+    this.dirty = new BitSet(this.width * this.height);
+
+    this.makeSearches();
   }
 
-  // EFFECT: removes the a cell's neighbor if they share an edge
-  public void linkEdges() {
-    for (Edge e : this.edges) {
-      e.from.removeNeighbor(e.to);
-      e.to.removeNeighbor(e.from);
-    }
+  // EFFECT: shuffles the ids of every edge into the order kruskal's algorithm
+  // will try them, the same random always giving the same order
+  public void orderEdges() {
+    this.edgeOrder = MazeGrid.shuffledEdges(this.width, this.height, this.rand);
   }
 
-  // draws the scene for the maze game
-  public WorldScene makeScene() {
-    WorldScene background = new WorldScene(width * 40, height * 40);
+  // EFFECT: uses kruskal's algorithm to create a minimum spanning tree,
+  // stopping as soon as every cell has been joined into one tree
+  public void makeMaze() {
+    this.grid = KruskalGenerator.generate(this.width, this.height, this.edgeOrder);
+  }
 
-    // draws the cells onto the background
-    for (ArrayList<Cell> listOfCell : this.cells) {
-      for (Cell c : listOfCell) {
+  // a copy of the finished maze that can be searched from many threads
+  public MazeSnapshot snapshot() {
+    return new MazeSnapshot(this.grid);
+  }
 
-        // changes the cell color based on its position
-        c.changeColor(width, height);
+  // EFFECT: starts a fresh search of every kind on the grid, each of which
+  // tells this game about the cells it sees once it is picked
+  void makeSearches() {
+    this.b = new BreadthFirstSearch(this.grid);
+    this.d = new DepthFirstSearch(this.grid);
+    this.bi = new BidirectionalSearch(this.grid);
+    this.a = new AStarSearch(this.grid);
+  }
 
-        background.placeImageXY(c.drawCell(), (c.x * 30) + 15 + (width * 5),
-            (c.y * 30) + 15 + (height * 5));
+  // EFFECT: records a cell a search has just seen
+  public void visited(int cell) {
+    if (!this.visited.get(cell)) {
+      this.visited.set(cell);
+      this.dirty.set(cell);
+    }
+  }
 
-      }
+  // EFFECT: stops the searches and races a breadth first search against a
+  // depth first search across the maze, each on a thread of its own and drawn
+  // on a picture of its own side by side
+  void startRace() {
+    BitSet stale = (BitSet) this.visited.clone();
+    stale.or(this.onPath);
+
+    this.startOver();
+    // the board is drawn again once the race is over, without the old search
+    this.dirty.or(stale);
+
+    this.race = new SolverRace(this.snapshot(), Arrays.asList(Algorithm.BFS, Algorithm.DFS), 0,
+        this.grid.size() - 1);
+    this.lanes = new ArrayList<RaceLane>();
+
+    // the lanes share the width one board takes up
+    int cell = Math.max(1,
+        (MazeGame.CELL_PIXELS + MazeGame.WALL_PIXELS) / this.race.racers.size()
+            - MazeGame.WALL_PIXELS);
+    for (Racer racer : this.race.racers) {
+      this.lanes.add(new RaceLane(racer, this.grid, cell));
     }
+    this.race.start();
+  }
+
+  // EFFECT: stops the race if there is one, going back to the board
+  void endRace() {
+    if (this.race != null) {
+      this.race.stop();
+      this.race = null;
+      this.lanes = null;
+    }
+  }
 
-    // draws the edges onto the background
-    for (Edge e : this.edges) {
-      if (e.to.x == e.from.x) {
-        background.placeImageXY(
-            new RectangleImage(30, 3, OutlineMode.SOLID, Color.black.brighter()),
-            (e.to.x * 30) + 15 + (width * 5), ((e.to.y + e.from.y) * 30 / 2) + 15 + (height * 5));
+  // draws the scene for the maze game, only repainting the cells that have
+  // changed since the last frame
+  public WorldScene makeScene() {
+    long start = System.nanoTime();
+    WorldScene background = new WorldScene(width * 40, height * 40);
+
+    if (this.race != null) {
+      this.drawRace(background);
+    }
+    else {
+      if (this.board == null) {
+        this.drawBoard();
       }
       else {
-        background.placeImageXY(
-            new RectangleImage(3, 30, OutlineMode.SOLID, Color.black.brighter()),
-            ((e.to.x + e.from.x) * 30 / 2) + 15 + (width * 5), (e.to.y * 30) + 15 + (height * 5));
+        this.drawChanges();
       }
+
+      background.placeImageXY(this.board, width * 5 + this.raster.width / 2,
+          height * 5 + this.raster.height / 2);
     }
 
     background.placeImageXY(new TextImage("MAZE", 35, Color.BLACK),
         ((width * 30) + (width * 5 * 2) + 15) / 2, height * 30 / 8);
 
     background.placeImageXY(
-        new TextImage("Key: 'b' = BFS, 'd' = DFS, 'r' = Reset, 'R' = Refresh", 12, Color.BLACK),
+        new TextImage("Key: 'b' = BFS, 'B' = Bi-BFS, 'd' = DFS, 'a' = A*, 'r' = Reset, "
+            + "'p' = Previous, 'R' = Refresh", 12, Color.BLACK),
         ((width * 50) + (width * 5 * 2) + 15) / 2, height * 30 / 8);
 
     background.placeImageXY(new TextImage("DFS steps: " + this.dfsSteps, 15, Color.black),
         width * 30 / 3, (height * 30) + (height * 5) + 15);
+    background.placeImageXY(new TextImage("Bi-BFS steps: " + this.biSteps, 15, Color.black),
+        width * 20, (height * 30) + (height * 5) + 15);
     background.placeImageXY(new TextImage("BFS steps: " + this.bfsSteps, 15, Color.black),
         width * 30, height * 30 + (height * 5) + 15);
+    background.placeImageXY(new TextImage("A* steps: " + this.aStarSteps, 15, Color.black),
+        width * 20, (height * 30) + (height * 5) + 35);
+    if (this.seeded) {
+      background.placeImageXY(new TextImage("Seed: " + this.seed, 15, Color.black),
+          width * 30, (height * 30) + (height * 5) + 35);
+    }
+
+    if (this.building != null) {
+      background.placeImageXY(new TextImage("Walls down: " + this.building.inTree + " of "
+          + this.building.treeSize, 15, Color.black), width * 30 / 3,
+          (height * 30) + (height * 5) + 35);
+    }
+
+    if (this.showMetrics) {
+      this.drawMetrics(background, MazeMetrics.GLOBAL);
+    }
 
+    MazeMetrics.GLOBAL.time(Phase.RENDER, start);
     return background;
   }
 
+  // EFFECT: draws each lane of the race side by side where the board goes,
+  // with how its search is doing under it and the winner once there is one
+  void drawRace(WorldScene background) {
+    int x = width * 5;
+    int below = height * 5 + this.lanes.get(0).raster.height;
+
+    for (RaceLane lane : this.lanes) {
+      int center = x + lane.raster.width / 2;
+      Racer racer = lane.racer;
+
+      lane.update();
+      background.placeImageXY(lane.board, center, height * 5 + lane.raster.height / 2);
+      background.placeImageXY(new TextImage(racer.algorithm + ": " + racer.expansions
+          + " expanded", 13, Color.black), center, below + 15);
+      background.placeImageXY(new TextImage(String.format("%.2f ms, %.2f M/s",
+          racer.elapsed() / 1e6, racer.rate() / 1e6), 13, Color.black), center, below + 30);
+      x = x + lane.raster.width + 10;
+    }
+
+    Racer winner = this.race.winner();
+    if (winner != null) {
+      background.placeImageXY(new TextImage("Winner: " + winner.algorithm, 15, Color.black),
+          width * 5 + this.lanes.get(0).raster.width, below + 50);
+    }
+  }
+
+  // EFFECT: draws the given metrics one line under another over the top left
+  // of the maze
+  void drawMetrics(WorldScene background, MazeMetrics metrics) {
+    List<String> lines = metrics.overlay();
+
+    for (int i = 0; i < lines.size(); i++) {
+      background.placeImageXY(new TextImage(lines.get(i), 13, Color.RED),
+          width * 5 + this.raster.width / 2, height * 5 + 20 + i * 16);
+    }
+  }
+
+  // EFFECT: paints every cell and wall of the maze in one pass and hands the
+  // pixels to a new board, the walls never changing until the next maze
+  void drawBoard() {
+    this.raster = new MazeRaster(this.grid, MazeGame.CELL_PIXELS, MazeGame.WALL_PIXELS);
+    this.raster.render(this.shownVisited(), this.onPath);
+    this.board = new ComputedPixelImage(this.raster.width, this.raster.height);
+    this.copyToBoard(0, 0, this.raster.width, this.raster.height);
+    this.dirty.clear();
+  }
+
+  // EFFECT: paints again every cell that has changed since the board was
+  // last drawn, along with the walls around it
+  void drawChanges() {
+    BitSet visited = this.shownVisited();
+    int pitch = this.raster.pitch;
+    int wall = this.raster.wall;
+
+    for (int id = this.dirty.nextSetBit(0); id >= 0; id = this.dirty.nextSetBit(id + 1)) {
+      this.raster.paintCell(id, visited, this.onPath);
+      this.copyToBoard(id % this.width * pitch, id / this.width * pitch, pitch + wall,
+          pitch + wall);
+    }
+    this.dirty.clear();
+  }
+
+  // EFFECT: copies the given rectangle of the raster's pixels onto the same
+  // place on the board
+  void copyToBoard(int x, int y, int w, int h) {
+    MazeGame.copyPixels(this.raster, this.board, x, y, w, h);
+  }
+
+  // EFFECT: copies the given rectangle of the given raster's pixels onto the
+  // same place on the given board
+  static void copyPixels(MazeRaster raster, ComputedPixelImage board, int x, int y, int w,
+      int h) {
+    int[] pixels = raster.pixels;
+    int rgb = pixels[y * raster.width + x];
+    Color color = MazeRaster.toColor(rgb);
+
+    // a board only takes a pixel at a time, so each row is walked straight
+    // through the raster's pixels, a new color looked up only where the color
+    // changes, which is at most at each wall
+    for (int row = y; row < y + h; row++) {
+      int at = row * raster.width + x;
+
+      for (int col = x; col < x + w; col++, at++) {
+        if (pixels[at] != rgb) {
+          rgb = pixels[at];
+          color = MazeRaster.toColor(rgb);
+        }
+        board.setPixel(col, row, color);
+      }
+    }
+  }
+
+
+  // the cells to draw as seen, none while they are hidden
+  BitSet shownVisited() {
+    if (this.showVisited) {
+      return this.visited;
+    }
+    else {
+      return new BitSet();
+    }
+  }
+
   // EFFECT: changes the world state each tick depending
   // on which search the user decides
   public void onTick() {
 
-    if (bfs && !this.b.search()) {
-      this.b.search();
-      this.bfsSteps++;
+    // the searches wait until the maze they search is finished
+    if (this.building != null) {
+      this.buildSome();
+      return;
     }
 
-    if (dfs && !this.d.search()) {
-      this.d.search();
-      this.dfsSteps++;
+    // the searches report the cells they see as they go, so only a finished
+    // path is left to copy onto the cells
+    if (bfs) {
+      this.bfsSteps = this.bfsSteps + this.showPath(this.b, this.advance(this.b));
     }
 
-    for (ArrayList<Cell> cell : this.cells) {
-      for (Cell c : cell) {
+    if (dfs) {
+      this.dfsSteps = this.dfsSteps + this.showPath(this.d, this.advance(this.d));
+    }
 
-        if (c.processed) {
-          visited.add(c);
-        }
-      }
+    if (bidirectional) {
+      this.biSteps = this.biSteps + this.showPath(this.bi, this.advance(this.bi));
+    }
+
+    if (aStar) {
+      this.aStarSteps = this.aStarSteps + this.showPath(this.a, this.advance(this.a));
+    }
+
+  }
+
+  // EFFECT: runs the given search for this tick, either a set number of
+  // expansions or as many as fit in the frame budget when there is one
+  // returns the number of cells it expanded
+  int advance(ISolver search) {
+    int before = search.expansions();
+    long deadline = System.nanoTime() + this.frameBudget;
+    boolean done = false;
+    int steps = 0;
+
+    while (!done && this.moreSteps(steps, deadline)) {
+      int expanded = search.expansions();
+
+      // a search that stops expanding has run out of cells
+      done = search.search() || search.expansions() == expanded;
+      steps++;
+    }
+
+    MazeMetrics.GLOBAL.searched(search.expansions() - before, search.frontier());
+    return search.expansions() - before;
+  }
+
+  // determines if a tick that has taken the given number of steps may take
+  // another, with a frame budget it only reads the clock after every 64 steps
+  // so each tick makes some progress however small the budget is
+  boolean moreSteps(int steps, long deadline) {
+    if (this.frameBudget > 0) {
+      return steps < 64 || steps % 64 != 0 || System.nanoTime() < deadline;
+    }
+    else {
+      return steps < this.stepsPerTick;
     }
+  }
 
+  // EFFECT: marks the cells of the given search's path once it has found
+  // one, if it expanded any cells this tick
+  // returns the given number of cells it expanded this tick
+  int showPath(ISolver search, int expanded) {
+    if (expanded > 0) {
+      BitSet path = search.pathCells();
+
+      this.onPath.or(path);
+      this.dirty.or(path);
+    }
+    return expanded;
   }
 
   // EFFECT: determines how user wants to solve the maze and changes
@@ -540,75 +762,327 @@ class MazeGame extends World {
   public void onKeyEvent(String key) {
 
     if (key.equals("b")) {
+      this.b.listen(this);
       this.bfs = true;
       this.dfs = false;
+      this.bidirectional = false;
+      this.aStar = false;
     }
 
-    if (key.equals("d")) {
+    if (key.equals("B")) {
+      this.bi.listen(this);
       this.bfs = false;
-      this.dfs = true;
+      this.dfs = false;
+      this.bidirectional = true;
+      this.aStar = false;
     }
 
-    if (key.equals("r")) {
-      this.rand = new Random();
+    if (key.equals("a")) {
+      this.a.listen(this);
       this.bfs = false;
       this.dfs = false;
-      this.bfsSteps = 0;
-      this.dfsSteps = 0;
-      this.visited = new ArrayList<Cell>();
+      this.bidirectional = false;
+      this.aStar = true;
+    }
+
+    if (key.equals("d")) {
+      this.d.listen(this);
+      this.bfs = false;
+      this.dfs = true;
+      this.bidirectional = false;
+      this.aStar = false;
+    }
 
-      this.listOfCells();
-      this.listOfEdges();
-      this.sortEdges();
-      this.makeMaze();
-      this.connectNeighbors();
-      this.linkEdges();
+    if (key.equals("r")) {
+      this.nextMaze();
+    }
 
-      this.b = new BreadthFirstSearch(this.cells, this.width, this.height);
-      this.d = new DepthFirstSearch(this.cells, this.width, this.height);
+    if (key.equals("p")) {
+      this.seed = this.seed - 1;
+      this.loadMaze();
     }
 
     if (key.equals("R")) {
-      this.rand = new Random();
-      this.bfs = false;
-      this.dfs = false;
-      this.bfsSteps = 0;
-      this.dfsSteps = 0;
-      this.visited = new ArrayList<Cell>();
-
-      for (ArrayList<Cell> cell : this.cells) {
-        for (Cell c : cell) {
-          c.processed = false;
-          c.path = false;
-        }
+      this.startOver();
+      this.board = null;
+    }
+
+    if (key.equals("+") || key.equals("=")) {
+      this.stepsPerTick = Math.min(this.stepsPerTick * 2, 1 << 20);
+
+      // a budget stays between 1 ms and the 10 ms of a whole tick, since
+      // halving it down to 0 would switch the game to counting steps
+      if (this.frameBudget > 0) {
+        this.frameBudget = Math.min(this.frameBudget * 2, 10000000);
+      }
+    }
+
+    if (key.equals("-")) {
+      this.stepsPerTick = Math.max(this.stepsPerTick / 2, 1);
+
+      if (this.frameBudget > 0) {
+        this.frameBudget = Math.max(this.frameBudget / 2, 1000000);
       }
+    }
 
-      this.b = new BreadthFirstSearch(this.cells, this.width, this.height);
-      this.d = new DepthFirstSearch(this.cells, this.width, this.height);
+    if (key.equals("t")) {
+      if (this.frameBudget > 0) {
+        this.frameBudget = 0;
+      }
+      else {
+        this.frameBudget = 8000000;
+      }
     }
 
     if (key.equals("u")) {
-      for (ArrayList<Cell> cell : this.cells) {
-        for (Cell c : cell) {
-          if (c.processed) {
-            c.processed = false;
-          }
-        }
-      }
+      this.showVisited = false;
+      this.dirty.or(this.visited);
     }
 
     if (key.equals("v")) {
-      for (ArrayList<Cell> cell : this.cells) {
-        for (Cell c : cell) {
-          if (visited.contains(c)) {
-            c.processed = true;
-          }
+      this.showVisited = true;
+      this.dirty.or(this.visited);
+    }
+
+    if (key.equals("m")) {
+      this.showMetrics = !this.showMetrics;
+    }
+
+    if (key.equals("g")) {
+      this.buildMaze();
+    }
+
+    // a race needs a finished maze to copy
+    if (key.equals("x") && this.building == null) {
+      if (this.race == null) {
+        this.startRace();
+      }
+      else {
+        this.endRace();
+      }
+    }
+
+  }
+
+}
+
+// represents one lane of a race: a picture of the maze of its own, showing
+// only the cells its search has seen and then the path it found, brought up
+// to date each frame from what the search's thread has published
+class RaceLane {
+  // the search this lane shows
+  Racer racer;
+  // the lane's picture of the maze, and the same pixels as a board
+  MazeRaster raster;
+  ComputedPixelImage board;
+  // the racer's seen bits as they were last drawn
+  long[] shown;
+  // the path, empty until the search has finished and it has been drawn
+  BitSet path;
+
+  // starting constructor, drawing the maze with nothing seen and cells of the
+  // given size
+  RaceLane(Racer racer, MazeGrid grid, int cell) {
+    this.racer = racer;
+    this.raster = new MazeRaster(grid, cell, MazeGame.WALL_PIXELS);
+    this.raster.render(new BitSet(), new BitSet());
+    this.board = new ComputedPixelImage(this.raster.width, this.raster.height);
+    MazeGame.copyPixels(this.raster, this.board, 0, 0, this.raster.width, this.raster.height);
+    this.shown = new long[racer.seen.length()];
+    this.path = new BitSet();
+  }
+
+  // EFFECT: paints the cells the search has seen since the last frame, and
+  // its path once it has finished
+  void update() {
+    // read before the seen bits, so that once it is set every bit is there
+    boolean finished = this.racer.finished();
+    BitSet fresh = new BitSet();
+
+    for (int i = 0; i < this.shown.length; i++) {
+      long seen = this.racer.seen.get(i);
+
+      for (long news = seen & ~this.shown[i]; news != 0; news = news & (news - 1)) {
+        fresh.set(i * 64 + Long.numberOfTrailingZeros(news));
+      }
+      this.shown[i] = seen;
+    }
+
+    if (finished && this.path.isEmpty() && this.racer.found) {
+      this.path = this.racer.path;
+      fresh.or(this.path);
+    }
+
+    BitSet visited = BitSet.valueOf(this.shown);
+    int pitch = this.raster.pitch;
+    int across = this.raster.grid.width;
+
+    for (int id = fresh.nextSetBit(0); id >= 0; id = fresh.nextSetBit(id + 1)) {
+      this.raster.paintCell(id, visited, this.path);
+      MazeGame.copyPixels(this.raster, this.board, id % across * pitch, id / across * pitch,
+          pitch + this.raster.wall, pitch + this.raster.wall);
+    }
+  }
+}
+
+// represents a maze that is ready to play: its grid, its path index and its
+// board already drawn
+class ReadyMaze {
+  // the seed the maze was made from
+  long seed;
+  // the walls of the maze
+  MazeGrid grid;
+  // answers the path between any two cells
+  PathIndex paths;
+  // the maze painted with nothing seen yet, and the same pixels as a board
+  MazeRaster raster;
+  ComputedPixelImage board;
+
+  // starting constructor, taking the maze of the given seed from the given
+  // cache and doing all the work of getting it ready to play
+  ReadyMaze(int width, int height, long seed, Generator generator, MazeCache cache) {
+    this.seed = seed;
+    this.grid = cache.get(width, height, seed, generator);
+    this.paths = new PathIndex(this.grid);
+
+    this.raster = new MazeRaster(this.grid, MazeGame.CELL_PIXELS, MazeGame.WALL_PIXELS);
+    this.raster.render(new BitSet(), new BitSet());
+    this.board = new ComputedPixelImage(this.raster.width, this.raster.height);
+    MazeGame.copyPixels(this.raster, this.board, 0, 0, this.raster.width, this.raster.height);
+  }
+}
+
+// Gets the mazes of the seeds after the one being played ready on a worker
+// thread, so moving on to the next maze never waits for it to be built. The
+// worker builds the seeds in order and hands them over through a queue, but
+// only starts a maze once there is room for it, so at most DEPTH mazes are
+// ever finished or being built ahead of the one being played
+class MazePreloader {
+  // the number of mazes kept ahead, each one holding two copies of its
+  // pixels, which on a 300x300 maze are over half a gigabyte together
+  static final int DEPTH = 1;
+
+  // the size of each maze
+  int width;
+  int height;
+  // the way each maze is made from its seed
+  Generator generator;
+  // where the mazes are taken from, and kept for going back to them
+  MazeCache cache;
+  // the mazes the worker has finished, in the order of their seeds
+  ArrayBlockingQueue<ReadyMaze> ready;
+  // one permit for each maze the worker may start, given back as each
+  // finished one is taken
+  Semaphore room;
+  // the thread building the mazes, null until the first is wanted
+  Thread worker;
+  // the seed of the next maze the worker will hand over
+  long next;
+
+  // starting constructor for a preloader that has not started building yet
+  MazePreloader(int width, int height, Generator generator, MazeCache cache) {
+    this.width = width;
+    this.height = height;
+    this.generator = generator;
+    this.cache = cache;
+    this.ready = new ArrayBlockingQueue<ReadyMaze>(DEPTH);
+    this.room = new Semaphore(DEPTH);
+  }
+
+  // EFFECT: makes sure the worker is building the mazes from the given seed
+  // on, starting a new one if it is building any others
+  void prepare(long seed) {
+    if (this.worker != null && this.worker.isAlive() && this.next == seed) {
+      return;
+    }
+
+    this.stop();
+
+    // the old worker may still be finishing a maze, which it drops once it
+    // sees it has been stopped
+    ArrayBlockingQueue<ReadyMaze> ready = new ArrayBlockingQueue<ReadyMaze>(DEPTH);
+    Semaphore room = new Semaphore(DEPTH);
+
+    this.ready = ready;
+    this.room = room;
+    this.next = seed;
+    this.worker = new Thread(() -> this.produce(seed, ready, room), "maze-preloader");
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  // EFFECT: builds the mazes from the given seed on into the given queue,
+  // waiting for room before starting each one, until the thread is stopped
+  void produce(long seed, ArrayBlockingQueue<ReadyMaze> ready, Semaphore room) {
+    try {
+      for (long next = seed; !Thread.currentThread().isInterrupted(); next++) {
+        room.acquire();
+
+        ReadyMaze maze = new ReadyMaze(this.width, this.height, next, this.generator, this.cache);
+
+        if (!Thread.currentThread().isInterrupted()) {
+          ready.add(maze);
         }
       }
     }
+    catch (InterruptedException e) {
+      // stopped while waiting for room
+    }
+  }
+
+  // EFFECT: takes the maze of the given seed from the worker, waiting if it
+  // is not finished yet, and leaves the worker building the ones after it
+  // returns the maze, built on this thread if the worker has died
+  ReadyMaze take(long seed) {
+    this.prepare(seed);
+
+    try {
+      ReadyMaze maze = this.ready.poll(100, TimeUnit.MILLISECONDS);
+
+      while (maze == null && this.worker.isAlive()) {
+        maze = this.ready.poll(100, TimeUnit.MILLISECONDS);
+      }
+      if (maze != null) {
+        this.room.release();
+        this.next = seed + 1;
+        return maze;
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return new ReadyMaze(this.width, this.height, seed, this.generator, this.cache);
+  }
 
+  // the number of mazes finished and waiting to be taken
+  int readyCount() {
+    return this.ready.size();
   }
 
+  // EFFECT: stops the worker, which lets go of the mazes it had finished
+  void stop() {
+    if (this.worker != null) {
+      this.worker.interrupt();
+      this.worker = null;
+    }
+  }
+
+  // EFFECT: stops the worker and waits for it to finish the maze it was
+  // building, so that nothing of it is left running afterwards
+  void close() {
+    Thread worker = this.worker;
+
+    this.stop();
+
+    if (worker != null) {
+      try {
+        worker.join();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
 }
 
 // represents examples of the maze game
@@ -692,8 +1166,8 @@ class ExamplesMaze {
     this.list = new ArrayList<Cell>();
     this.list1 = new ArrayList<Cell>();
 
-    this.dfs = new DepthFirstSearch(this.loloCells, 1, 1);
-    this.bfs = new BreadthFirstSearch(this.loloCells, 1, 1);
+    this.dfs = new DepthFirstSearch(new MazeGrid(1, 1));
+    this.bfs = new BreadthFirstSearch(new MazeGrid(1, 1));
   }
 
   // to test the Maze game
@@ -702,6 +1176,7 @@ class ExamplesMaze {
     int height = 20;
 
     MazeGame starterWorld = new MazeGame(width, height);
+    starterWorld.preload();
     starterWorld.bigBang(width * 40, height * 40, 0.01);
   }
 
@@ -743,14 +1218,236 @@ class ExamplesMaze {
 
   }
 
-  // to test the method equals
-  void testEquals(Tester t) {
-    this.initData();
+  // to test the method find in the UnionFind class
+  void testFind(Tester t) {
+    UnionFind sets = new UnionFind(5);
 
-    t.checkExpect(this.cell1.equals(this.cell2), false);
-    t.checkExpect(this.cell1.equals(this.cell7), true);
-    t.checkExpect(this.cell2.equals(this.cell3), false);
-    t.checkExpect(this.cell2.equals(this.cell8), true);
+    t.checkExpect(sets.find(3), 3);
+
+    sets.parent[1] = 0;
+    sets.parent[2] = 1;
+    sets.parent[3] = 2;
+
+    t.checkExpect(sets.find(3), 0);
+    t.checkExpect(sets.parent[3], 1);
+    t.checkExpect(sets.find(4), 4);
+  }
+
+  // to test the method union in the UnionFind class
+  void testUnion(Tester t) {
+    UnionFind sets = new UnionFind(4);
+
+    t.checkExpect(sets.union(0, 1), true);
+    t.checkExpect(sets.union(2, 3), true);
+    t.checkExpect(sets.union(1, 0), false);
+    t.checkExpect(sets.sets, 2);
+    t.checkExpect(sets.rank[0], 1);
+
+    t.checkExpect(sets.union(1, 3), true);
+    t.checkExpect(sets.find(3), sets.find(0));
+    t.checkExpect(sets.rank[0], 2);
+    t.checkExpect(sets.sets, 1);
+  }
+
+  // to test the wall methods in the MazeGrid class
+  void testGridWalls(Tester t) {
+    MazeGrid grid = new MazeGrid(3, 2);
+
+    t.checkExpect(grid.walls.length, 1);
+    t.checkExpect(grid.hasEastWall(0), true);
+    t.checkExpect(grid.hasSouthWall(0), true);
+
+    grid.removeEastWall(0);
+    grid.removeSouthWall(2);
+
+    t.checkExpect(grid.hasEastWall(0), false);
+    t.checkExpect(grid.hasSouthWall(0), true);
+    t.checkExpect(grid.hasSouthWall(2), false);
+    t.checkExpect(grid.hasEastWall(2), true);
+
+    grid.removeWallBetween(4, 1);
+    grid.removeWallBetween(5, 4);
+
+    t.checkExpect(grid.hasSouthWall(1), false);
+    t.checkExpect(grid.hasEastWall(4), false);
+    t.checkExpect(new MazeGrid(40, 40).walls.length, 50);
+    t.checkExpect(grid.wallBits(0), 2);
+    t.checkExpect(grid.wallBits(1), 1);
+    t.checkExpect(grid.wallBits(2), 1);
+    t.checkExpect(grid.wallBits(5), 3);
+
+    MazeGrid big = new MazeGrid(40, 40);
+    big.removeSouthWall(33);
+
+    t.checkExpect(big.wallBits(33), 1);
+    t.checkExpect(big.wallBits(32), 3);
+  }
+
+  // to test the method neighbors in the MazeGrid class
+  void testGridNeighbors(Tester t) {
+    MazeGrid grid = new MazeGrid(3, 2);
+    int[] out = new int[4];
+
+    t.checkExpect(grid.neighbors(4, out), 0);
+
+    grid.removeWallBetween(3, 4);
+    grid.removeWallBetween(4, 5);
+    grid.removeWallBetween(1, 4);
+    grid.removeWallBetween(2, 5);
+
+    t.checkExpect(grid.neighbors(4, out), 3);
+    t.checkExpect(out[0], 5);
+    t.checkExpect(out[1], 3);
+    t.checkExpect(out[2], 1);
+    t.checkExpect(grid.neighbors(2, out), 1);
+    t.checkExpect(out[0], 5);
+    t.checkExpect(grid.neighbors(0, out), 0);
+
+    MazeGrid column = new MazeGrid(1, 3);
+
+    column.removeWallBetween(2, 1);
+
+    t.checkExpect(column.hasSouthWall(1), false);
+    t.checkExpect(column.hasEastWall(1), true);
+    t.checkExpect(column.neighbors(2, out), 1);
+    t.checkExpect(out[0], 1);
+  }
+
+  // to test that makeMaze knocks down exactly the walls of the tree in the grid
+  void testMakeMazeGrid(Tester t) {
+    this.initData();
+
+    int[] out = new int[4];
+    int passages = 0;
+
+    for (int i = 0; i < this.maze.grid.size(); i++) {
+      passages = passages + this.maze.grid.neighbors(i, out);
+    }
+
+    t.checkExpect(passages, 2 * (20 * 20 - 1));
+  }
+
+  // to test the method reset in the UnionFind class
+  void testReset(Tester t) {
+    UnionFind sets = new UnionFind(3);
+
+    sets.union(0, 1);
+    sets.union(1, 2);
+    sets.reset();
+
+    t.checkExpect(sets.sets, 3);
+    t.checkExpect(sets.find(2), 2);
+    t.checkExpect(sets.rank[0], 0);
+  }
+
+  // to test the method acceptRow in the GridRowSink class
+  void testAcceptRow(Tester t) {
+    GridRowSink sink = new GridRowSink(3, 2);
+
+    sink.acceptRow(1, new boolean[] {false, true, true}, new boolean[] {true, true, true});
+    sink.acceptRow(0, new boolean[] {true, true, true}, new boolean[] {true, false, true});
+
+    t.checkExpect(sink.grid.hasEastWall(3), false);
+    t.checkExpect(sink.grid.hasEastWall(4), true);
+    t.checkExpect(sink.grid.hasSouthWall(1), false);
+    t.checkExpect(sink.grid.hasSouthWall(0), true);
+  }
+
+  // to test that the EllerGenerator always makes a perfect maze
+  void testEllerGenerator(Tester t) {
+    int[] out = new int[4];
+
+    for (int seed = 0; seed < 5; seed++) {
+      GridRowSink sink = new GridRowSink(15, 12);
+      new EllerGenerator(15, 12, new Random(seed)).generate(sink);
+
+      UnionFind sets = new UnionFind(15 * 12);
+      int passages = 0;
+
+      for (int i = 0; i < 15 * 12; i++) {
+        int count = sink.grid.neighbors(i, out);
+        passages = passages + count;
+
+        for (int j = 0; j < count; j++) {
+          sets.union(i, out[j]);
+        }
+      }
+
+      t.checkExpect(passages, 2 * (15 * 12 - 1));
+      t.checkExpect(sets.sets, 1);
+    }
+
+    GridRowSink single = new GridRowSink(1, 4);
+    new EllerGenerator(1, 4, new Random(3)).generate(single);
+
+    t.checkExpect(single.grid.hasSouthWall(0), false);
+    t.checkExpect(single.grid.hasSouthWall(2), false);
+  }
+
+  // to test that the EllerGenerator only keeps one row of state
+  void testEllerRows(Tester t) {
+    EllerGenerator eller = new EllerGenerator(6, 1000, new Random(7));
+    GridRowSink sink = new GridRowSink(6, 1000);
+
+    eller.generate(sink);
+
+    t.checkExpect(eller.labels.length, 6);
+    t.checkExpect(eller.southWalls, new boolean[] {true, true, true, true, true, true});
+    t.checkExpect(eller.eastWalls[5], true);
+  }
+
+  // to test the methods find and union in the ConcurrentUnionFind class
+  void testConcurrentUnionFind(Tester t) {
+    ConcurrentUnionFind sets = new ConcurrentUnionFind(5);
+
+    t.checkExpect(sets.union(0, 1), true);
+    t.checkExpect(sets.find(0), 1);
+    t.checkExpect(sets.union(3, 1), true);
+    t.checkExpect(sets.find(0), 3);
+    t.checkExpect(sets.union(0, 3), false);
+    t.checkExpect(sets.find(4), 4);
+  }
+
+  // to test the method lowerTo in the BoruvkaGenerator class
+  void testLowerTo(Tester t) {
+    AtomicIntegerArray values = new AtomicIntegerArray(new int[] {5, 2});
+
+    BoruvkaGenerator.lowerTo(values, 0, 3);
+    BoruvkaGenerator.lowerTo(values, 1, 4);
+
+    t.checkExpect(values.get(0), 3);
+    t.checkExpect(values.get(1), 2);
+  }
+
+  // to test that the BoruvkaGenerator makes the same maze as makeMaze
+  void testBoruvkaGenerator(Tester t) {
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    for (int seed = 0; seed < 4; seed++) {
+      MazeGame kruskal = new MazeGame(30 + seed, 25, new Random(seed));
+
+      t.checkExpect(BoruvkaGenerator.generate(30 + seed, 25, kruskal.edgeOrder, pool).walls,
+          kruskal.grid.walls);
+    }
+
+    int[] order = MazeGrid.shuffledEdges(300, 200, new Random(9));
+
+    t.checkExpect(BoruvkaGenerator.generate(300, 200, order, pool).walls,
+        KruskalGenerator.generate(300, 200, order).walls);
+    t.checkExpect(BoruvkaGenerator.generate(1, 1, new int[0], pool).walls,
+        new MazeGrid(1, 1).walls);
+
+    pool.shutdown();
+  }
+
+  // to test the method equals
+  void testEquals(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.cell1.equals(this.cell2), false);
+    t.checkExpect(this.cell1.equals(this.cell7), true);
+    t.checkExpect(this.cell2.equals(this.cell3), false);
+    t.checkExpect(this.cell2.equals(this.cell8), true);
     t.checkExpect(this.cell5.equals(this.cell2), false);
     t.checkExpect(this.cell4.equals(this.cell4), true);
   }
@@ -781,19 +1478,15 @@ class ExamplesMaze {
     t.checkExpect(this.cell3.color, Color.gray.brighter());
     t.checkExpect(this.cell4.color, Color.magenta);
     t.checkExpect(this.cell5.color, Color.gray.brighter());
-  }
 
-  // to test the method compare
-  void testCompare(Tester t) {
-    this.initData();
+    this.cell3.changeProcessed();
+    this.cell3.changeColor(8, 9, false);
+
+    t.checkExpect(this.cell3.color, Color.gray.brighter());
 
-    Comparator<Edge> comp = new SortEdgesComparator();
+    this.cell3.changeColor(8, 9, true);
 
-    t.checkExpect(comp.compare(e1, e2), -5);
-    t.checkExpect(comp.compare(e2, e2), 0);
-    t.checkExpect(comp.compare(e3, e2), 10);
-    t.checkExpect(comp.compare(e4, e1), 17);
-    t.checkExpect(comp.compare(e5, e3), 9);
+    t.checkExpect(this.cell3.color, Color.CYAN.darker().darker());
   }
 
   // to test the method drawCell
@@ -814,245 +1507,2043 @@ class ExamplesMaze {
         new RectangleImage(30, 30, OutlineMode.SOLID, new Color(182, 182, 182)));
   }
 
-  // to test the method listOfCells
-  void testListOfCells(Tester t) {
-    this.initData();
+  // to test the method shuffledEdges in the MazeGrid class
+  void testShuffledEdges(Tester t) {
+    int[] order = MazeGrid.shuffledEdges(3, 2, new Random(5));
+    int[] sorted = order.clone();
+    Arrays.sort(sorted);
 
-    this.maze.listOfCells();
+    t.checkExpect(sorted, new int[] {0, 1, 2, 3, 5, 6, 8});
+    t.checkExpect(MazeGrid.shuffledEdges(3, 2, new Random(5)), order);
+    t.checkExpect(MazeGrid.shuffledEdges(1, 1, new Random(5)).length, 0);
+    t.checkExpect(MazeGrid.shuffledEdges(0, 0, new Random(5)).length, 0);
+  }
 
-    t.checkExpect(this.maze.cells.size(), 20);
-    t.checkExpect(this.maze.cells.get(0).size(), 20);
+  // to test the methods edgeFrom and edgeTo in the MazeGrid class
+  void testEdgeEnds(Tester t) {
+    MazeGrid grid = new MazeGrid(3, 2);
 
-    for (int i = 1; i < 20; i++) {
-      for (int j = 1; j < 20; j++) {
-        t.checkExpect(this.maze.cells.get(i).get(j), new Cell(j, i));
-      }
-    }
+    t.checkExpect(grid.edgeFrom(0), 0);
+    t.checkExpect(grid.edgeTo(0), 1);
+    t.checkExpect(grid.edgeFrom(3), 1);
+    t.checkExpect(grid.edgeTo(3), 4);
+    t.checkExpect(grid.edgeFrom(8), 4);
+    t.checkExpect(grid.edgeTo(8), 5);
   }
 
-  // to test the method listOfEdges
-  void testListOfEdges(Tester t) {
+  // to test the method orderEdges
+  void testOrderEdges(Tester t) {
     this.initData();
 
-    this.maze.listOfEdges();
+    this.maze.orderEdges();
+
+    t.checkExpect(this.maze.edgeOrder.length, 760);
 
-    t.checkExpect(this.maze.edges.size(), 760);
-    t.checkExpect(this.maze.edges.get(0).from, this.maze.cells.get(0).get(0));
-    t.checkExpect(this.maze.edges.get(0).to, this.maze.cells.get(0).get(1));
-    t.checkExpect(this.maze.edges.get(1).from, this.maze.cells.get(0).get(1));
-    t.checkExpect(this.maze.edges.get(1).to, this.maze.cells.get(0).get(2));
+    MazeGame sameSeed = new MazeGame(20, 20, new Random(1));
+
+    t.checkExpect(sameSeed.edgeOrder, new MazeGame(20, 20, new Random(1)).edgeOrder);
+    t.checkExpect(sameSeed.grid.walls, new MazeGame(20, 20, new Random(1)).grid.walls);
   }
 
-  // to test the method sortEdges
-  void testSortEdges(Tester t) {
+  // to test the method makeMaze
+  void testMakeMaze(Tester t) {
     this.initData();
 
-    this.maze.listOfEdges();
-    this.maze.sortEdges();
+    this.maze.orderEdges();
+    this.maze.makeMaze();
+
+    // a spanning tree of 400 cells opens 399 of the 760 walls between them
+    int standing = 0;
 
-    for (int i = 0; i < this.maze.edges.size() - 1; i++) {
-      t.checkExpect(this.maze.edges.get(i).weight <= this.maze.edges.get(i + 1).weight, true);
+    for (int id = 0; id < 400; id++) {
+      if (id % 20 < 19 && this.maze.grid.hasEastWall(id)) {
+        standing++;
+      }
+      if (id / 20 < 19 && this.maze.grid.hasSouthWall(id)) {
+        standing++;
+      }
     }
+    t.checkExpect(standing, 361);
+  }
 
+  // to test the method generate in the KruskalGenerator class
+  void testKruskalGenerate(Tester t) {
+    this.initData();
+
+    MazeGrid grid = KruskalGenerator.generate(20, 20, this.maze.edgeOrder);
+
+    t.checkExpect(grid.walls, this.maze.grid.walls);
+
+    MazeGrid line = KruskalGenerator.generate(3, 1, new int[] {2, 0});
+
+    t.checkExpect(line.hasEastWall(0), false);
+    t.checkExpect(line.hasEastWall(1), false);
+    t.checkExpect(line.hasEastWall(2), true);
   }
 
-  // to test the method makeMaze
-  void testMakeMaze(Tester t) {
+  // to test the methods step and finished in the KruskalGenerator class
+  void testKruskalStep(Tester t) {
     this.initData();
 
-    this.maze.listOfEdges();
-    this.maze.sortEdges();
-    this.maze.makeMaze();
+    MazeMetrics metrics = new MazeMetrics();
+    KruskalGenerator kruskal = new KruskalGenerator(20, 20, this.maze.edgeOrder, metrics);
 
-    t.checkExpect(this.maze.edges.size() < 760, true);
-    t.checkExpect(this.maze.edges.size(), 361);
+    t.checkExpect(kruskal.grid.walls, new MazeGrid(20, 20).walls);
+    t.checkExpect(kruskal.finished(), false);
+    t.checkExpect(kruskal.step(0), false);
+    t.checkExpect(kruskal.next, 0);
 
-    for (int i = 0; i < this.maze.edges.size() - 1; i++) {
-      t.checkExpect(this.maze.edges.get(i).weight <= this.maze.edges.get(i + 1).weight, true);
+    t.checkExpect(kruskal.step(100), false);
+    t.checkExpect(kruskal.next, 100);
+    t.checkExpect(kruskal.inTree > 0 && kruskal.inTree <= 100, true);
+    t.checkExpect(metrics.getUnionLinks(), 0L);
+
+    while (!kruskal.step(100)) {
+      // builds the rest of the maze a hundred edges at a time
     }
+
+    t.checkExpect(kruskal.finished(), true);
+    t.checkExpect(kruskal.inTree, 399);
+    t.checkExpect(kruskal.grid.walls, this.maze.grid.walls);
+    t.checkExpect(metrics.getUnionLinks(), 399L);
+    t.checkExpect(metrics.getUnionFinds(), kruskal.sets.finds);
+    t.checkExpect(kruskal.step(Integer.MAX_VALUE), true);
+    t.checkExpect(metrics.getUnionLinks(), 399L);
+
+    KruskalGenerator line = new KruskalGenerator(3, 1, new int[] {2, 0});
+
+    t.checkExpect(line.step(1), false);
+    t.checkExpect(line.grid.hasEastWall(1), false);
+    t.checkExpect(line.grid.hasEastWall(0), true);
+    t.checkExpect(line.step(Integer.MAX_VALUE), true);
+    t.checkExpect(line.grid.hasEastWall(0), false);
   }
 
-  // to test the method makeScene
-  void testMakeScene(Tester t) {
+  // to test the methods parse and only in the MazeBenchmark class
+  void testBenchmarkParse(Tester t) {
+    PrintStream out = new PrintStream(new ByteArrayOutputStream());
+    MazeBenchmark defaults = MazeBenchmark.parse(new String[0], out);
+    MazeBenchmark chosen = MazeBenchmark.parse(new String[] {"--warmup=0", "--iterations=2",
+        "--seed=9", "--only=makeMaze,searchDFS", "30", "60"}, out);
+
+    t.checkExpect(defaults.warmups, 3);
+    t.checkExpect(defaults.iterations, 5);
+    t.checkExpect(defaults.sizes.toString(), "[50, 500, 1000, 2000, 4000]");
+    t.checkExpect(defaults.benchmarks.size(), 6);
+    t.checkExpect(MazeBenchmark.only(new String[] {"distancesSeq"}).get(0)
+        instanceof DistanceBenchmark, true);
+    t.checkExpect(chosen.warmups, 0);
+    t.checkExpect(chosen.iterations, 2);
+    t.checkExpect(chosen.seed, 9L);
+    t.checkExpect(chosen.sizes.toString(), "[30, 60]");
+    t.checkExpect(chosen.benchmarks.get(0).name(), "makeMaze");
+    t.checkExpect(chosen.benchmarks.get(1).name(), "searchDFS");
+    t.checkException(new IllegalArgumentException("There is no benchmark named sort"),
+        this, "benchmarks", (Object) new String[] {"--only=sort"});
+    t.checkException(new IllegalArgumentException("Expected at least one timed iteration"),
+        this, "benchmarks", (Object) new String[] {"--iterations=0"});
+  }
+
+  // parses the given benchmark arguments, used to test the errors
+  // MazeBenchmark gives
+  MazeBenchmark benchmarks(String[] args) {
+    return MazeBenchmark.parse(args, new PrintStream(new ByteArrayOutputStream()));
+  }
+
+  // to test the methods run and measure in the MazeBenchmark class
+  void testBenchmarkRun(Tester t) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    MazeBenchmark run = MazeBenchmark.parse(new String[] {"--warmup=1", "--iterations=2",
+        "--only=edgeOrder,searchBFS", "10", "20"}, new PrintStream(bytes));
+    List<BenchmarkResult> results = run.run();
+    String[] lines = bytes.toString().split("\n");
+
+    t.checkExpect(results.size(), 4);
+    t.checkExpect(results.get(1).name, "edgeOrder");
+    t.checkExpect(results.get(1).size, 20);
+    t.checkExpect(results.get(3).name, "searchBFS");
+    t.checkExpect(results.get(3).iterations, 2);
+    t.checkExpect(results.get(3).minNanos <= results.get(3).meanNanos, true);
+    t.checkExpect(lines.length, 5);
+    t.checkExpect(lines[0].startsWith("Benchmark"), true);
+    t.checkExpect(lines[4], results.get(3).toString());
+
+    BenchmarkResult measured = run.measure(new MakeMazeBenchmark(), 10);
+
+    t.checkExpect(measured.name, "makeMaze");
+    t.checkExpect(measured.bytesPerOp > 0 || MazeBenchmark.allocatedBytes() < 0, true);
+  }
+
+  // to test the benchmarks of each part of making and solving a maze
+  void testBenchmarks(Tester t) {
     this.initData();
 
-    this.maze.makeScene();
+    EdgeOrderBenchmark order = new EdgeOrderBenchmark();
+    MakeMazeBenchmark make = new MakeMazeBenchmark();
+    SearchBenchmark search = new SearchBenchmark(Algorithm.BFS);
 
-    WorldScene background = new WorldScene(this.maze.width * 40, this.maze.height * 40);
+    order.setUp(20, 1);
+    make.setUp(20, 1);
+    search.setUp(20, 1);
 
-    for (ArrayList<Cell> listOfCell : this.maze.cells) {
-      for (Cell c : listOfCell) {
+    t.checkExpect(order.run(), this.maze.edgeOrder[0]);
+    t.checkExpect(make.run(), (int) this.maze.grid.walls[0]);
+    t.checkExpect(search.name(), "searchBFS");
+    t.checkExpect(search.run(), search.run());
 
-        c.changeColor(maze.width, maze.height);
+    make.tearDown();
+    search.tearDown();
 
-        background.placeImageXY(c.drawCell(), (c.x * 30) + 15 + (maze.width * 5),
-            (c.y * 30) + 15 + (maze.height * 5));
+    t.checkExpect(make.edgeOrder, null);
+    t.checkExpect(search.search, null);
+  }
 
-      }
-    }
+  // to test the methods allocationRate and toString in the BenchmarkResult class
+  void testBenchmarkResult(Tester t) {
+    BenchmarkResult result = new BenchmarkResult("makeMaze", 50, 5, 500000000, 400000000,
+        1024 * 1024);
 
-    for (Edge e : this.maze.edges) {
-      if (e.to.x == e.from.x) {
-        background.placeImageXY(
-            new RectangleImage(30, 3, OutlineMode.SOLID, Color.black.brighter()),
-            (e.to.x * 30) + 15 + (maze.width * 5),
-            ((e.to.y + e.from.y) * 30 / 2) + 15 + (maze.height * 5));
-      }
-      else {
-        background.placeImageXY(
-            new RectangleImage(3, 30, OutlineMode.SOLID, Color.black.brighter()),
-            ((e.to.x + e.from.x) * 30 / 2) + 15 + (maze.width * 5),
-            (e.to.y * 30) + 15 + (maze.height * 5));
+    t.checkInexact(result.allocationRate(), 2.0, 0.001);
+    t.checkExpect(new BenchmarkResult("x", 1, 1, 10, 10, -1).allocationRate(), -1.0);
+    t.checkExpect(result.toString(), String.format("%-14s %6d %6d %12.3f %12.3f %14d %10.1f",
+        "makeMaze", 50, 5, 500.0, 400.0, 1024L * 1024, 2.0));
+  }
+
+  // to test the method make in the Generator enum
+  void testGeneratorMake(Tester t) {
+    int[] out = new int[4];
+
+    for (Generator generator : Generator.values()) {
+      MazeGrid grid = generator.make(17, 9, 4);
+      int passages = 0;
+
+      for (int id = 0; id < grid.size(); id++) {
+        passages = passages + grid.neighbors(id, out);
       }
+
+      t.checkExpect(passages, 2 * (17 * 9 - 1));
+      t.checkExpect(generator.make(17, 9, 4).walls, grid.walls);
     }
 
-    background.placeImageXY(new TextImage("MAZE", 35, Color.BLACK),
-        ((maze.width * 30) + (maze.width * 5 * 2) + 15) / 2, maze.height * 30 / 8);
+    t.checkExpect(Generator.KRUSKAL.make(30, 20, 8).walls,
+        Generator.BORUVKA.make(30, 20, 8).walls);
+    t.checkExpect(Generator.KRUSKAL.make(20, 20, 1).walls,
+        KruskalGenerator.generate(20, 20, MazeGrid.shuffledEdges(20, 20, new Random(1))).walls);
+    t.checkExpect(Arrays.equals(Generator.KRUSKAL.make(30, 20, 8).walls,
+        Generator.KRUSKAL.make(30, 20, 9).walls), false);
+  }
 
-    background.placeImageXY(
-        new TextImage("Key: 'b' = BFS, 'd' = DFS, 'r' = Reset, 'R' = Refresh", 12, Color.BLACK),
-        ((maze.width * 50) + (maze.width * 5 * 2) + 15) / 2, maze.height * 30 / 8);
+  // to test the methods equals and hashCode in the MazeKey class
+  void testMazeKey(Tester t) {
+    MazeKey key = new MazeKey(20, 10, 5, Generator.KRUSKAL);
 
-    background.placeImageXY(new TextImage("DFS steps: " + 0, 15, Color.black), maze.width * 30 / 3,
-        (maze.height * 30) + (maze.height * 5) + 15);
-    background.placeImageXY(new TextImage("BFS steps: " + 0, 15, Color.black), maze.width * 30,
-        maze.height * 30 + (maze.height * 5) + 15);
+    t.checkExpect(key.equals(new MazeKey(20, 10, 5, Generator.KRUSKAL)), true);
+    t.checkExpect(key.hashCode(), new MazeKey(20, 10, 5, Generator.KRUSKAL).hashCode());
+    t.checkExpect(key.equals(new MazeKey(10, 20, 5, Generator.KRUSKAL)), false);
+    t.checkExpect(key.equals(new MazeKey(20, 10, 6, Generator.KRUSKAL)), false);
+    t.checkExpect(key.equals(new MazeKey(20, 10, 5, Generator.ELLER)), false);
+    t.checkExpect(key.equals("maze"), false);
+  }
 
-    t.checkExpect(this.maze.makeScene(), background);
+  // to test the methods get, put and bytesOf in the MazeCache class
+  void testMazeCache(Tester t) {
+    // a 20 by 20 maze takes 13 longs of walls, so three fit
+    MazeCache cache = new MazeCache(3 * (13 * 8 + 64));
+    MazeGrid first = cache.get(20, 20, 1, Generator.KRUSKAL);
+
+    t.checkExpect(MazeCache.bytesOf(first), 13L * 8 + 64);
+    t.checkExpect(cache.misses(), 1L);
+    t.checkExpect(cache.get(20, 20, 1, Generator.KRUSKAL) == first, true);
+    t.checkExpect(cache.hits(), 1L);
+
+    cache.get(20, 20, 2, Generator.KRUSKAL);
+    cache.get(20, 20, 1, Generator.ELLER);
+
+    t.checkExpect(cache.size(), 3);
+
+    // the seed 2 maze is now the one used least recently
+    cache.get(20, 20, 1, Generator.KRUSKAL);
+    cache.get(20, 20, 3, Generator.KRUSKAL);
+
+    t.checkExpect(cache.size(), 3);
+    t.checkExpect(cache.evictions, 1L);
+    t.checkExpect(cache.get(20, 20, 1, Generator.KRUSKAL) == first, true);
+    t.checkExpect(cache.misses(), 4L);
+
+    cache.get(20, 20, 2, Generator.KRUSKAL);
+
+    t.checkExpect(cache.misses(), 5L);
+    t.checkExpect(cache.bytes, 3L * (13 * 8 + 64));
+
+    cache.get(200, 200, 1, Generator.KRUSKAL);
+
+    t.checkExpect(cache.size(), 3);
+    t.checkExpect(cache.toString(),
+        "MazeCache[3 mazes, 504/504 bytes, 3 hits, 6 misses, 2 evictions]");
   }
 
-  // to test the method onTick
-  void testOnTick(Tester t) {
-    this.initData();
-    this.maze.listOfCells();
-    this.maze.listOfEdges();
-    this.maze.onTick();
-    t.checkExpect(this.maze.bfs, false);
-    t.checkExpect(this.maze.height, 20);
+  // to test the method loadMaze and the 'r' and 'p' keys
+  void testLoadMaze(Tester t) {
+    MazeGame game = new MazeGame(20, 20, 40L);
+
+    t.checkExpect(game.seed, 40L);
+    t.checkExpect(game.grid.walls, Generator.KRUSKAL.make(20, 20, 40).walls);
+    t.checkExpect(game.cache.misses(), 1L);
+
+    game.onKeyEvent("b");
+    game.onTick();
+    game.onKeyEvent("r");
+
+    t.checkExpect(game.seed, 41L);
+    t.checkExpect(game.bfs, false);
+    t.checkExpect(game.bfsSteps, 0);
+    t.checkExpect(game.visited.isEmpty(), true);
+    t.checkExpect(game.grid.walls, Generator.KRUSKAL.make(20, 20, 41).walls);
+    t.checkExpect(game.cache.misses(), 2L);
+
+    game.onKeyEvent("p");
+
+    t.checkExpect(game.seed, 40L);
+    t.checkExpect(game.grid.walls, Generator.KRUSKAL.make(20, 20, 40).walls);
+    t.checkExpect(game.cache.hits(), 1L);
+    t.checkExpect(game.visited.isEmpty(), true);
+    t.checkExpect(game.paths.distance(0, 399), new PathIndex(game.grid).distance(0, 399));
+    t.checkExpect(new MazeGame(20, 20, 40L).grid.walls, game.grid.walls);
   }
 
-  // to test the method onKeyPressed
-  void testOnKeyPressed(Tester t) {
-    this.initData();
+  // to test the ReadyMaze class
+  void testReadyMaze(Tester t) {
+    MazeCache cache = new MazeCache(1 << 20);
+    ReadyMaze maze = new ReadyMaze(5, 4, 9, Generator.KRUSKAL, cache);
+    MazeGame game = new MazeGame(5, 4, 9L);
 
-    this.maze.onKeyEvent("b");
-    t.checkExpect(this.maze.bfs, true);
-    t.checkExpect(this.maze.dfs, false);
+    game.makeScene();
 
-    this.maze.onKeyEvent("d");
-    t.checkExpect(this.maze.bfs, false);
-    t.checkExpect(this.maze.dfs, true);
+    t.checkExpect(maze.seed, 9L);
+    t.checkExpect(maze.grid, cache.get(5, 4, 9, Generator.KRUSKAL));
+    t.checkExpect(maze.grid.walls, game.grid.walls);
+    t.checkExpect(maze.paths.distance(0, 19), game.paths.distance(0, 19));
+    t.checkExpect(maze.raster.pixels, game.raster.pixels);
+    t.checkExpect(maze.board, game.board);
+  }
 
-    this.maze.onKeyEvent("r");
-    t.checkExpect(this.maze.bfs, false);
-    t.checkExpect(this.maze.dfs, false);
-    t.checkExpect(this.maze.bfsSteps, 0);
-    t.checkExpect(this.maze.dfsSteps, 0);
+  // to test the methods prepare, take and stop in the MazePreloader class
+  void testMazePreloader(Tester t) {
+    MazeCache cache = new MazeCache(1 << 20);
+    MazePreloader preloader = new MazePreloader(6, 5, Generator.KRUSKAL, cache);
 
-    this.maze.onKeyEvent("R");
+    t.checkExpect(preloader.worker, null);
 
-    t.checkExpect(this.maze.bfs, false);
-    t.checkExpect(this.maze.dfs, false);
-    t.checkExpect(this.maze.bfsSteps, 0);
-    t.checkExpect(this.maze.dfsSteps, 0);
+    ReadyMaze first = preloader.take(3);
 
-    for (ArrayList<Cell> cell : this.maze.cells) {
-      for (Cell c : cell) {
-        t.checkExpect(c.processed, false);
-        t.checkExpect(c.path, false);
-      }
-    }
+    t.checkExpect(first.seed, 3L);
+    t.checkExpect(first.grid.walls, Generator.KRUSKAL.make(6, 5, 3).walls);
+    t.checkExpect(preloader.next, 4L);
 
-    this.maze.onKeyEvent("u");
+    Thread worker = preloader.worker;
+    preloader.prepare(4);
+    t.checkExpect(preloader.worker, worker);
+    t.checkExpect(preloader.take(4).seed, 4L);
 
-    for (ArrayList<Cell> cell : this.maze.cells) {
-      for (Cell c : cell) {
-        t.checkExpect(c.processed, false);
-      }
+    // going back starts a new worker from the seed wanted
+    t.checkExpect(preloader.take(1).seed, 1L);
+    t.checkExpect(preloader.worker == worker, false);
+    t.checkExpect(preloader.take(2).grid.walls, Generator.KRUSKAL.make(6, 5, 2).walls);
+
+    preloader.close();
+    t.checkExpect(preloader.worker, null);
+    t.checkExpect(preloader.take(7).seed, 7L);
+    t.checkExpect(preloader.room.availablePermits() <= MazePreloader.DEPTH, true);
+
+    worker = preloader.worker;
+    preloader.close();
+    t.checkExpect(preloader.worker, null);
+    t.checkExpect(worker.isAlive(), false);
+  }
+
+  // to test the methods nextMaze and install
+  void testNextMaze(Tester t) {
+    MazeGame game = new MazeGame(8, 6, 70L);
+
+    game.onKeyEvent("d");
+    game.onTick();
+    game.nextMaze();
+
+    t.checkExpect(game.seed, 71L);
+    t.checkExpect(game.dfs, false);
+    t.checkExpect(game.visited.isEmpty(), true);
+    t.checkExpect(game.grid.walls, Generator.KRUSKAL.make(8, 6, 71).walls);
+    t.checkExpect(game.board == null, false);
+    t.checkExpect(game.b.grid, game.grid);
+
+    // the board was drawn ahead of time, so the first frame draws nothing new
+    game.makeScene();
+    t.checkExpect(game.board, new ReadyMaze(8, 6, 71, Generator.KRUSKAL, game.cache).board);
+
+    // with a preloader the maze after it is built on the worker instead
+    game.preload();
+    t.checkExpect(game.preloader.next, 72L);
+
+    game.nextMaze();
+    t.checkExpect(game.seed, 72L);
+    t.checkExpect(game.grid.walls, Generator.KRUSKAL.make(8, 6, 72).walls);
+    t.checkExpect(game.preloader.next, 73L);
+    game.preloader.close();
+
+    // a maze made without a seed moves on to the seed after one drawn from
+    // its random, and shows it from then on
+    this.initData();
+    long seed = this.maze.seed;
+
+    t.checkExpect(this.maze.seeded, false);
+    t.checkExpect(seed == 0, false);
+
+    this.maze.nextMaze();
+    t.checkExpect(this.maze.seed, seed + 1);
+    t.checkExpect(this.maze.seeded, true);
+    t.checkExpect(this.maze.grid.walls, Generator.KRUSKAL.make(20, 20, seed + 1).walls);
+    t.checkExpect(this.maze.preloader, null);
+  }
+
+  // to test the methods buildMaze, buildSome and finishMaze and the key 'g'
+  void testBuildMaze(Tester t) {
+    MazeGame game = new MazeGame(20, 20, 12L, true);
+    MazeGrid finished = Generator.KRUSKAL.make(20, 20, 12);
+
+    game.preload();
+
+    t.checkExpect(game.building == null, false);
+    t.checkExpect(game.grid, game.building.grid);
+    t.checkExpect(game.grid.walls, new MazeGrid(20, 20).walls);
+    t.checkExpect(game.preloader.worker, null);
+
+    WorldScene scene = game.makeScene();
+    WorldScene expected = new WorldScene(20 * 40, 20 * 40);
+
+    expected.placeImageXY(game.board, 20 * 5 + 301, 20 * 5 + 301);
+    expected.placeImageXY(new TextImage("MAZE", 35, Color.BLACK), (20 * 30 + 20 * 5 * 2 + 15) / 2,
+        20 * 30 / 8);
+    expected.placeImageXY(
+        new TextImage("Key: 'b' = BFS, 'B' = Bi-BFS, 'd' = DFS, 'a' = A*, 'r' = Reset, "
+            + "'p' = Previous, 'R' = Refresh", 12, Color.BLACK),
+        (20 * 50 + 20 * 5 * 2 + 15) / 2, 20 * 30 / 8);
+    expected.placeImageXY(new TextImage("DFS steps: 0", 15, Color.black), 20 * 30 / 3,
+        20 * 30 + 20 * 5 + 15);
+    expected.placeImageXY(new TextImage("Bi-BFS steps: 0", 15, Color.black), 20 * 20,
+        20 * 30 + 20 * 5 + 15);
+    expected.placeImageXY(new TextImage("BFS steps: 0", 15, Color.black), 20 * 30,
+        20 * 30 + 20 * 5 + 15);
+    expected.placeImageXY(new TextImage("A* steps: 0", 15, Color.black), 20 * 20,
+        20 * 30 + 20 * 5 + 35);
+    expected.placeImageXY(new TextImage("Seed: 12", 15, Color.black), 20 * 30,
+        20 * 30 + 20 * 5 + 35);
+    expected.placeImageXY(new TextImage("Walls down: 0 of 399", 15, Color.black), 20 * 30 / 3,
+        20 * 30 + 20 * 5 + 35);
+
+    t.checkExpect(scene, expected);
+
+    // a search picked while the maze is being built waits for it
+    game.onKeyEvent("b");
+    game.stepsPerTick = 100;
+    game.onTick();
+
+    t.checkExpect(game.bfsSteps, 0);
+    t.checkExpect(game.building.next, 100);
+    t.checkExpect(game.dirty.cardinality() > 0, true);
+    t.checkExpect(game.dirty.get(game.grid.edgeFrom(game.building.edgeOrder[0])), true);
+
+    game.makeScene();
+    t.checkExpect(game.dirty.isEmpty(), true);
+
+    while (game.building != null) {
+      game.onTick();
     }
 
-    this.maze.onKeyEvent("v");
+    t.checkExpect(game.grid.walls, finished.walls);
+    t.checkExpect(game.paths.distance(0, 399), new PathIndex(finished).distance(0, 399));
+    t.checkExpect(game.cache.get(20, 20, 12, Generator.KRUSKAL), game.grid);
+    t.checkExpect(game.preloader.next, 13L);
+
+    game.onTick();
+    t.checkExpect(game.bfsSteps, 100);
 
-    for (Cell c : this.maze.visited) {
-      t.checkExpect(c.processed, true);
+    game.frameBudget = 1000000;
+    game.onKeyEvent("g");
+
+    t.checkExpect(game.bfs, false);
+    t.checkExpect(game.grid.walls, new MazeGrid(20, 20).walls);
+
+    while (game.building != null) {
+      game.onTick();
     }
+
+    t.checkExpect(game.grid.walls, finished.walls);
+    t.checkExpect(game.cache.get(20, 20, 12, Generator.KRUSKAL), game.grid);
+
+    // a maze can only be built a step at a time with kruskal's algorithm
+    game.generator = Generator.BORUVKA;
+    game.onKeyEvent("g");
+
+    t.checkExpect(game.generator, Generator.KRUSKAL);
+    game.preloader.close();
   }
 
-  // to test the method linkEdges
-  void testLinkEdges(Tester t) {
+  // to test the methods save and open in the MazeFile class
+  void testMazeFile(Tester t) {
     this.initData();
 
-    this.cell1.connectTo(cell2);
-    this.cell2.connectTo(cell4);
-    this.cell3.connectTo(cell4);
+    try {
+      File file = File.createTempFile("maze", ".maze");
+      MazeFile.save(this.maze.grid, 1, file);
+      MappedMazeGrid mapped = MazeFile.open(file);
 
-    this.list.add(new Cell(5, 6));
-    this.list1.add(new Cell(2, 3));
-    this.list1.add(new Cell(5, 6));
+      t.checkExpect(file.length(), 32L + 8 * this.maze.grid.walls.length);
+      t.checkExpect(mapped.width, 20);
+      t.checkExpect(mapped.height, 20);
+      t.checkExpect(mapped.seed, 1L);
+      t.checkExpect(mapped.walls, null);
+      t.checkExpect(mapped.copy().walls, this.maze.grid.walls);
 
-    this.maze.linkEdges();
-    t.checkExpect(this.cell4.neighborCells, new ArrayList<Cell>());
-    t.checkExpect(this.cell3.neighborCells, this.list);
-    t.checkExpect(this.cell2.neighborCells, this.list);
+      for (int id = 0; id < 400; id++) {
+        t.checkExpect(mapped.wallBits(id), this.maze.grid.wallBits(id));
+      }
+
+      File again = File.createTempFile("maze", ".maze");
+      MazeFile.save(mapped, 7, again);
+
+      t.checkExpect(MazeFile.open(again).copy().walls, this.maze.grid.walls);
+      t.checkExpect(MazeFile.open(again).seed, 7L);
+
+      FileOutputStream out = new FileOutputStream(again);
+      out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20,
+          21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32});
+      out.close();
+
+      t.checkException(new IOException("Not a maze file"), this, "openMaze", again);
+
+      MazeFile.save(new MazeGrid(3, 2), 0, again);
+      RandomAccessFile raw = new RandomAccessFile(again, "rw");
+      raw.seek(4);
+      raw.write(new byte[] {2, 0, 0, 0});
+      raw.setLength(33);
+      raw.close();
+
+      t.checkException(new IOException("Unsupported maze file version 2"), this, "openMaze", again);
+
+      raw = new RandomAccessFile(again, "rw");
+      raw.seek(4);
+      raw.write(new byte[] {1, 0, 0, 0});
+      raw.close();
+
+      t.checkException(new IOException("The maze file is cut short"), this, "openMaze", again);
+
+      raw = new RandomAccessFile(again, "rw");
+      raw.setLength(10);
+      raw.close();
+
+      t.checkException(new IOException("The maze file is too short to hold a header"),
+          this, "openMaze", again);
+      file.delete();
+      again.delete();
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
   }
 
-  // to test the method connectNeighbors
-  void testConnectNeighbors(Tester t) {
-    this.initData();
-    this.maze.listOfCells();
-    this.maze.listOfEdges();
-    this.maze.connectNeighbors();
+  // opens the given maze file, used to test the errors MazeFile gives
+  MappedMazeGrid openMaze(File file) throws IOException {
+    return MazeFile.open(file);
   }
 
-  // to test the method search in the BFS class
-  void testSearchBFS(Tester t) {
+  // to test the searches and wall methods over a MappedMazeGrid
+  void testMappedMazeGrid(Tester t) {
     this.initData();
 
-    this.loloCells.add(loCells);
-    this.loloCells.add(list);
-    this.loloCells.add(list1);
+    try {
+      File file = File.createTempFile("maze", ".maze");
+      MazeFile.save(this.maze.grid, 1, file);
+      MappedMazeGrid mapped = MazeFile.open(file);
 
-    this.list.add(cell1);
-    this.list.add(cell3);
-    this.list.add(cell7);
+      for (Algorithm algorithm : Algorithm.values()) {
+        ISolver onFile = algorithm.make(mapped, 0, 399);
+        ISolver inMemory = algorithm.make(this.maze.grid, 0, 399);
 
-    t.checkExpect(this.bfs.search(), true);
+        while (!onFile.search()) {
+          inMemory.search();
+        }
+        inMemory.search();
+
+        t.checkExpect(onFile.pathCells(), inMemory.pathCells());
+        t.checkExpect(onFile.expansions(), inMemory.expansions());
+      }
+
+      t.checkExpect(new PathIndex(mapped).distance(0, 399),
+          new PathIndex(this.maze.grid).distance(0, 399));
+      t.checkException(new ReadOnlyBufferException(), mapped, "removeWallAt", 0L);
+
+      MappedMazeGrid writable = MazeFile.open(file, true);
+      writable.removeSouthWall(0);
+      writable.removeEastWall(0);
+
+      t.checkExpect(writable.hasSouthWall(0), false);
+      t.checkExpect(mapped.wallBits(0), 0);
+      t.checkExpect(MazeFile.open(file).hasEastWall(0), false);
+      file.delete();
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
   }
 
-  // to test the method reconstruct in the BFS class
-  void testReconstructBFS(Tester t) {
-    this.initData();
+  // to test the method parse in the MazeRunner class
+  void testRunnerParse(Tester t) {
+    PrintStream out = new PrintStream(new ByteArrayOutputStream());
+    MazeRunner runner = MazeRunner.parse(new String[] {"30", "20", "3", "7"}, out);
+
+    t.checkExpect(runner.width, 30);
+    t.checkExpect(runner.height, 20);
+    t.checkExpect(runner.count, 3);
+    t.checkExpect(runner.seed, 7L);
+    t.checkExpect(runner.algorithms.toString(), "[BFS, DFS]");
+    t.checkExpect(MazeRunner.parse(new String[] {"3", "2", "1", "7", "astar", "BFS"}, out)
+        .algorithms.toString(), "[ASTAR, BFS]");
+    t.checkException(new IllegalArgumentException("Expected at least 4 arguments but got 2"),
+        this, "parse", (Object) new String[] {"3", "2"});
+    t.checkException(new IllegalArgumentException("The width and height must be positive"),
+        this, "parse", (Object) new String[] {"0", "2", "1", "7"});
+    t.checkException(new IllegalArgumentException("The number of mazes can not be negative"),
+        this, "parse", (Object) new String[] {"3", "2", "-1", "7"});
+  }
 
-    this.bfs.reconstruct(hashmap, cell1);
+  // parses the given arguments, used to test the errors MazeRunner gives
+  MazeRunner parse(String[] args) {
+    return MazeRunner.parse(args, new PrintStream(new ByteArrayOutputStream()));
+  }
 
-    t.checkExpect(this.hashmap.size(), 0);
-    t.checkExpect(this.cell1.processed, false);
+  // to test the methods run and millis in the MazeRunner class
+  void testRunnerRun(Tester t) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    MazeRunner runner = MazeRunner.parse(new String[] {"20", "20", "2", "5", "bfs"},
+        new PrintStream(bytes));
+    MazeGrid last = runner.run();
+    String[] lines = bytes.toString().split("\n");
+
+    t.checkExpect(last.walls,
+        KruskalGenerator.generate(20, 20, MazeGrid.shuffledEdges(20, 20, new Random(6))).walls);
+    t.checkExpect(lines.length, 3);
+    t.checkExpect(lines[0].startsWith("maze 0 (seed 5): generated in "), true);
+    t.checkExpect(lines[1].contains(", BFS "), true);
+    t.checkExpect(lines[2].startsWith("total for 2 mazes of 20x20: generated in "), true);
+    t.checkExpect(MazeRunner.parse(new String[] {"2", "2", "0", "5"}, new PrintStream(bytes))
+        .run(), null);
+    t.checkExpect(MazeRunner.millis(1500000), String.format("%.2f ms", 1.5));
   }
 
-  // to test the method search in the DFS class
-  void testSearchDFS(Tester t) {
+  // to test the method makeScene
+  void testMakeScene(Tester t) {
     this.initData();
 
-    this.loloCells.add(loCells);
-    this.loloCells.add(list);
-    this.loloCells.add(list1);
+    WorldScene scene = this.maze.makeScene();
+    ComputedPixelImage board = this.maze.board;
 
-    this.list.add(cell1);
-    this.list.add(cell3);
-    this.list.add(cell7);
+    WorldScene background = new WorldScene(this.maze.width * 40, this.maze.height * 40);
 
-    t.checkExpect(this.dfs.search(), true);
-  }
+    background.placeImageXY(board, maze.width * 5 + 301, maze.height * 5 + 301);
 
-  // to test the method reconstruct in the DFS class
-  void testReconstructDFS(Tester t) {
-    this.initData();
+    background.placeImageXY(new TextImage("MAZE", 35, Color.BLACK),
+        ((maze.width * 30) + (maze.width * 5 * 2) + 15) / 2, maze.height * 30 / 8);
+
+    background.placeImageXY(
+        new TextImage("Key: 'b' = BFS, 'B' = Bi-BFS, 'd' = DFS, 'a' = A*, 'r' = Reset, "
+            + "'p' = Previous, 'R' = Refresh", 12, Color.BLACK),
+        ((maze.width * 50) + (maze.width * 5 * 2) + 15) / 2, maze.height * 30 / 8);
+
+    background.placeImageXY(new TextImage("DFS steps: " + 0, 15, Color.black), maze.width * 30 / 3,
+        (maze.height * 30) + (maze.height * 5) + 15);
+    background.placeImageXY(new TextImage("Bi-BFS steps: " + 0, 15, Color.black),
+        maze.width * 20, (maze.height * 30) + (maze.height * 5) + 15);
+    background.placeImageXY(new TextImage("BFS steps: " + 0, 15, Color.black), maze.width * 30,
+        maze.height * 30 + (maze.height * 5) + 15);
+    background.placeImageXY(new TextImage("A* steps: " + 0, 15, Color.black), maze.width * 20,
+        (maze.height * 30) + (maze.height * 5) + 35);
 
-    this.dfs.reconstruct(hashmap, cell1);
+    t.checkExpect(scene, background);
+    t.checkExpect(this.maze.makeScene(), background);
+    t.checkExpect(this.maze.board == board, true);
 
-    t.checkExpect(this.hashmap.size(), 0);
-    t.checkExpect(this.cell1.processed, false);
+    this.maze.onKeyEvent("R");
+    this.maze.makeScene();
+
+    t.checkExpect(this.maze.board == board, false);
+  }
+
+  // to test the method drawBoard
+  void testDrawBoard(Tester t) {
+    this.initData();
+
+    this.maze.drawBoard();
+
+    t.checkExpect(this.maze.board.getPixel(15, 15), Color.GREEN);
+    t.checkExpect(this.maze.board.getPixel(585, 585), Color.MAGENTA);
+    t.checkExpect(this.maze.board.getPixel(45, 15), Color.GRAY.brighter());
+    t.checkExpect(this.maze.board.getPixel(1, 15), Color.black.brighter());
+
+    for (int id = 0; id < 399; id++) {
+      int x = id % 20 * 30;
+      int y = id / 20 * 30;
+
+      if (id % 20 < 19) {
+        t.checkExpect(this.maze.board.getPixel(x + 31, y + 15).equals(Color.black.brighter()),
+            this.maze.grid.hasEastWall(id));
+      }
+      if (id / 20 < 19) {
+        t.checkExpect(this.maze.board.getPixel(x + 15, y + 31).equals(Color.black.brighter()),
+            this.maze.grid.hasSouthWall(id));
+      }
+    }
+  }
+
+  // to test the method drawChanges
+  void testDrawChanges(Tester t) {
+    this.initData();
+
+    this.maze.drawBoard();
+    this.maze.onKeyEvent("b");
+    this.maze.onTick();
+
+    t.checkExpect(this.maze.dirty, this.maze.visited);
+    t.checkExpect(this.maze.board.getPixel(15, 15), Color.GREEN);
+
+    this.maze.drawChanges();
+
+    t.checkExpect(this.maze.dirty.isEmpty(), true);
+    t.checkExpect(this.maze.board.getPixel(15, 15), Color.CYAN.darker().darker());
+    t.checkExpect(this.maze.board.getPixel(31, 15).equals(Color.black.brighter()),
+        this.maze.grid.hasEastWall(0));
+    t.checkExpect(this.maze.board.getPixel(15, 31).equals(Color.black.brighter()),
+        this.maze.grid.hasSouthWall(0));
+
+    this.maze.onKeyEvent("u");
+    this.maze.drawChanges();
+
+    t.checkExpect(this.maze.board.getPixel(15, 15), Color.GREEN);
+
+    // a board drawn with smaller cells is painted again at that size
+    this.maze.raster = new MazeRaster(this.maze.grid, 1, 1);
+    this.maze.raster.render(this.maze.shownVisited(), this.maze.onPath);
+    this.maze.board = new ComputedPixelImage(41, 41);
+    this.maze.copyToBoard(0, 0, 41, 41);
+    this.maze.onKeyEvent("v");
+    this.maze.drawChanges();
+
+    t.checkExpect(this.maze.board.getPixel(1, 1), new Color(MazeRaster.SEEN));
+    t.checkExpect(this.maze.board.getPixel(39, 39), new Color(MazeRaster.END));
+  }
+
+  // to test the method shownVisited
+  void testShownVisited(Tester t) {
+    this.initData();
+
+    this.maze.visited(3);
+
+    t.checkExpect(this.maze.shownVisited().toString(), "{3}");
+
+    this.maze.onKeyEvent("u");
+
+    t.checkExpect(this.maze.shownVisited().toString(), "{}");
+
+    this.maze.onKeyEvent("v");
+
+    t.checkExpect(this.maze.shownVisited().toString(), "{3}");
+  }
+
+  // to test the methods colorOf and passage
+  void testColorOf(Tester t) {
+    MazeRaster raster = new MazeRaster(new MazeGrid(3, 2), 1, 1);
+    BitSet visited = new BitSet();
+    BitSet path = new BitSet();
+
+    visited.set(1);
+    visited.set(2);
+    path.set(2);
+
+    t.checkExpect(raster.colorOf(0, visited, path), MazeRaster.START);
+    t.checkExpect(raster.colorOf(1, visited, path), MazeRaster.SEEN);
+    t.checkExpect(raster.colorOf(2, visited, path), MazeRaster.PATH);
+    t.checkExpect(raster.colorOf(4, visited, path), MazeRaster.FLOOR);
+    t.checkExpect(raster.colorOf(5, visited, path), MazeRaster.END);
+    t.checkExpect(raster.passage(MazeRaster.PATH, MazeRaster.PATH), MazeRaster.PATH);
+    t.checkExpect(raster.passage(MazeRaster.PATH, MazeRaster.SEEN), MazeRaster.FLOOR);
+  }
+
+  // to test the method toColor
+  void testToColor(Tester t) {
+    t.checkExpect(MazeRaster.toColor(MazeRaster.PATH), Color.BLUE);
+    t.checkExpect(MazeRaster.toColor(MazeRaster.WALL) == MazeRaster.toColor(MazeRaster.WALL),
+        true);
+    t.checkExpect(MazeRaster.toColor(Color.ORANGE.getRGB()), Color.ORANGE);
+  }
+
+  // to test the method render
+  void testRender(Tester t) {
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(1);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    line.removeEastWall(3);
+    MazeRaster raster = new MazeRaster(line, 1, 1);
+    BitSet path = new BitSet();
+
+    path.set(0);
+    path.set(1);
+    path.set(4);
+    path.set(5);
+    raster.render(new BitSet(), path);
+
+    int w = MazeRaster.WALL;
+    int f = MazeRaster.FLOOR;
+    int p = MazeRaster.PATH;
+
+    t.checkExpect(raster.width, 7);
+    t.checkExpect(raster.height, 5);
+    t.checkExpect(raster.pixels, new int[] {
+        w, w, w, w, w, w, w,
+        w, p, p, p, w, f, w,
+        w, w, w, p, w, f, w,
+        w, f, f, p, p, p, w,
+        w, w, w, w, w, w, w });
+
+    MazeRaster big = new MazeRaster(line, 2, 3);
+    big.render(new BitSet(), new BitSet());
+
+    t.checkExpect(big.width, 18);
+    t.checkExpect(big.pixels[3 * 18 + 3], MazeRaster.START);
+    t.checkExpect(big.pixels[4 * 18 + 6], MazeRaster.FLOOR);
+    t.checkExpect(big.pixels[4 * 18 + 11], MazeRaster.WALL);
+    t.checkExpect(big.pixels[8 * 18 + 14], MazeRaster.END);
+    t.checkException(new IllegalArgumentException("The maze is too big to draw at this size"),
+        this, "makeRaster", new MazeGrid(50000, 50000));
+  }
+
+  // builds a raster with one pixel cells and walls, used to test that it
+  // refuses a maze too big to fit in one image
+  MazeRaster makeRaster(MazeGrid grid) {
+    return new MazeRaster(grid, 1, 1);
+  }
+
+  // to test the methods paintCell and fill
+  void testPaintCell(Tester t) {
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(1);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    line.removeEastWall(3);
+    MazeRaster raster = new MazeRaster(line, 1, 1);
+    MazeRaster expected = new MazeRaster(line, 1, 1);
+    BitSet visited = new BitSet();
+
+    raster.render(visited, new BitSet());
+    visited.set(1);
+    visited.set(4);
+    raster.paintCell(1, visited, new BitSet());
+    raster.paintCell(4, visited, new BitSet());
+    expected.render(visited, new BitSet());
+
+    t.checkExpect(raster.pixels, expected.pixels);
+
+    raster.fill(1, 2, 3, 2, MazeRaster.PATH);
+
+    t.checkExpect(raster.pixels[2 * 7], MazeRaster.WALL);
+    t.checkExpect(raster.pixels[2 * 7 + 1], MazeRaster.PATH);
+    t.checkExpect(raster.pixels[3 * 7 + 3], MazeRaster.PATH);
+    t.checkExpect(raster.pixels[3 * 7 + 4], MazeRaster.FLOOR);
+    t.checkExpect(raster.pixels[4 * 7 + 1], MazeRaster.WALL);
+  }
+
+  // to test the method copyToBoard
+  void testCopyToBoard(Tester t) {
+    this.initData();
+
+    this.maze.raster = new MazeRaster(new MazeGrid(3, 2), 1, 1);
+    this.maze.board = new ComputedPixelImage(7, 5);
+    this.maze.raster.render(new BitSet(), new BitSet());
+    this.maze.copyToBoard(1, 1, 2, 1);
+
+    t.checkExpect(this.maze.board.getPixel(1, 1), Color.GREEN);
+    t.checkExpect(this.maze.board.getPixel(2, 1), Color.black.brighter());
+    t.checkExpect(this.maze.board.getPixel(3, 1).equals(Color.GRAY.brighter()), false);
+  }
+
+  // to test the method write
+  void testWrite(Tester t) {
+    this.initData();
+    MazeRaster raster = new MazeRaster(this.maze.grid, 2, 1);
+
+    raster.render(new BitSet(), new BitSet());
+
+    try {
+      File file = File.createTempFile("maze", ".png");
+
+      raster.write(file);
+      BufferedImage read = ImageIO.read(file);
+
+      t.checkExpect(read.getWidth(), 61);
+      t.checkExpect(read.getRGB(1, 1), MazeRaster.START);
+      t.checkExpect(read.getRGB(58, 58), MazeRaster.END);
+      file.delete();
+    }
+    catch (IOException e) {
+      t.checkExpect(e, null);
+    }
+  }
+
+  // to test the method onTick
+  void testOnTick(Tester t) {
+    this.initData();
+    this.maze.orderEdges();
+    this.maze.onTick();
+    t.checkExpect(this.maze.bfs, false);
+    t.checkExpect(this.maze.height, 20);
+  }
+
+  // to test the methods advance and moreSteps
+  void testAdvance(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.maze.advance(this.maze.b), 1);
+    t.checkExpect(this.maze.b.expansions(), 1);
+
+    this.maze.stepsPerTick = 5;
+
+    t.checkExpect(this.maze.moreSteps(4, 0), true);
+    t.checkExpect(this.maze.moreSteps(5, 0), false);
+    t.checkExpect(this.maze.advance(this.maze.b), 5);
+    t.checkExpect(this.maze.b.expansions(), 6);
+
+    this.maze.stepsPerTick = 1000;
+    int left = this.maze.advance(this.maze.b);
+
+    t.checkExpect(this.maze.b.finished, true);
+    t.checkExpect(this.maze.b.expansions(), 6 + left);
+    t.checkExpect(this.maze.advance(this.maze.b), 0);
+
+    this.maze.frameBudget = 1;
+
+    t.checkExpect(this.maze.moreSteps(3, Long.MAX_VALUE), true);
+    t.checkExpect(this.maze.moreSteps(63, 0), true);
+    t.checkExpect(this.maze.moreSteps(64, 0), false);
+    t.checkExpect(this.maze.advance(this.maze.d), 64);
+
+    this.maze.frameBudget = 1000000000;
+
+    t.checkExpect(this.maze.advance(this.maze.d) > 0, true);
+    t.checkExpect(this.maze.d.finished, true);
+  }
+
+  // to test that onTick counts every expansion
+  void testOnTickSteps(Tester t) {
+    this.initData();
+
+    this.maze.onKeyEvent("d");
+    this.maze.onKeyEvent("+");
+    this.maze.onKeyEvent("+");
+
+    t.checkExpect(this.maze.stepsPerTick, 4);
+
+    this.maze.onTick();
+    this.maze.onTick();
+
+    t.checkExpect(this.maze.dfsSteps, Math.min(8, this.maze.d.expansions()));
+    t.checkExpect(this.maze.dfsSteps, this.maze.d.expansions());
+
+    this.maze.onKeyEvent("-");
+    this.maze.onKeyEvent("-");
+    this.maze.onKeyEvent("-");
+
+    t.checkExpect(this.maze.stepsPerTick, 1);
+
+    this.maze.onKeyEvent("t");
+
+    t.checkExpect(this.maze.frameBudget, 8000000L);
+
+    this.maze.onKeyEvent("+");
+
+    t.checkExpect(this.maze.frameBudget, 10000000L);
+
+    for (int i = 0; i < 30; i++) {
+      this.maze.onKeyEvent("-");
+    }
+
+    t.checkExpect(this.maze.frameBudget, 1000000L);
+
+    this.maze.onKeyEvent("+");
+
+    t.checkExpect(this.maze.frameBudget, 2000000L);
+
+    this.maze.onKeyEvent("t");
+
+    t.checkExpect(this.maze.frameBudget, 0L);
+
+    this.maze.onKeyEvent("+");
+
+    t.checkExpect(this.maze.frameBudget, 0L);
+  }
+
+  // to test the method onKeyPressed
+  void testOnKeyPressed(Tester t) {
+    this.initData();
+
+    this.maze.onKeyEvent("b");
+    t.checkExpect(this.maze.bfs, true);
+    t.checkExpect(this.maze.dfs, false);
+
+    this.maze.onKeyEvent("d");
+    t.checkExpect(this.maze.bfs, false);
+    t.checkExpect(this.maze.dfs, true);
+
+    this.maze.onKeyEvent("B");
+    t.checkExpect(this.maze.bfs, false);
+    t.checkExpect(this.maze.dfs, false);
+    t.checkExpect(this.maze.bidirectional, true);
+
+    this.maze.onKeyEvent("a");
+    t.checkExpect(this.maze.bidirectional, false);
+    t.checkExpect(this.maze.aStar, true);
+
+    this.maze.onKeyEvent("r");
+    t.checkExpect(this.maze.bidirectional, false);
+    t.checkExpect(this.maze.aStar, false);
+    t.checkExpect(this.maze.aStarSteps, 0);
+    t.checkExpect(this.maze.biSteps, 0);
+    t.checkExpect(this.maze.bfs, false);
+    t.checkExpect(this.maze.dfs, false);
+    t.checkExpect(this.maze.bfsSteps, 0);
+    t.checkExpect(this.maze.dfsSteps, 0);
+
+    this.maze.onKeyEvent("R");
+
+    t.checkExpect(this.maze.bfs, false);
+    t.checkExpect(this.maze.dfs, false);
+    t.checkExpect(this.maze.bfsSteps, 0);
+    t.checkExpect(this.maze.dfsSteps, 0);
+
+    t.checkExpect(this.maze.visited.toString(), "{}");
+    t.checkExpect(this.maze.onPath.toString(), "{}");
+
+    this.maze.onKeyEvent("b");
+    this.maze.onTick();
+    this.maze.onKeyEvent("u");
+
+    t.checkExpect(this.maze.showVisited, false);
+    t.checkExpect(this.maze.visited.get(0), true);
+    t.checkExpect(this.maze.shownVisited().toString(), "{}");
+
+    this.maze.onKeyEvent("v");
+
+    t.checkExpect(this.maze.showVisited, true);
+    t.checkExpect(this.maze.shownVisited(), this.maze.visited);
+  }
+
+  // to test the method search in the BFS class
+  void testSearchBFS(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.bfs.search(), true);
+    t.checkExpect(this.bfs.expansions, 1);
+    t.checkExpect(this.bfs.search(), true);
+    t.checkExpect(this.bfs.expansions, 1);
+
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(0);
+    line.removeEastWall(3);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    BreadthFirstSearch search = new BreadthFirstSearch(line);
+
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.count, 2);
+    t.checkExpect(search.worklist[1], 1);
+    t.checkExpect(search.worklist[2], 3);
+    t.checkExpect(search.cameFromEdge[3], 0);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.visitedCells().cardinality(), 3);
+
+    while (!search.search()) {
+      t.checkExpect(search.count > 0, true);
+    }
+
+    t.checkExpect(search.expansions, 5);
+    t.checkExpect(search.path.toString(), "{0, 3, 4, 5}");
+  }
+
+  // to test that the BFS queue wraps around the end of its array
+  void testEnqueueBFS(Tester t) {
+    BreadthFirstSearch search = new BreadthFirstSearch(new MazeGrid(3, 1));
+
+    search.head = 2;
+    search.count = 0;
+    search.enqueue(1, 0);
+    search.enqueue(2, 1);
+
+    t.checkExpect(search.worklist[2], 1);
+    t.checkExpect(search.worklist[0], 2);
+    t.checkExpect(search.cameFromEdge[2], 1);
+    t.checkExpect(search.visitedCells().get(2), true);
+  }
+
+  // to test the method reconstruct in the BFS class
+  void testReconstructBFS(Tester t) {
+    this.initData();
+
+    BreadthFirstSearch search = new BreadthFirstSearch(this.maze.grid);
+
+    while (!search.search()) {
+      t.checkExpect(search.count > 0, true);
+    }
+
+    t.checkExpect(search.path.get(0), true);
+    t.checkExpect(search.path.get(399), true);
+
+    search.path.clear();
+    search.cameFromEdge[7] = 6;
+    search.cameFromEdge[6] = 0;
+    search.reconstruct(7);
+
+    t.checkExpect(search.path.toString(), "{0, 6, 7}");
+  }
+
+  // to test the method showPath
+  void testShowPath(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.maze.showPath(this.maze.b, 0), 0);
+    t.checkExpect(this.maze.onPath.get(0), false);
+
+    this.maze.onKeyEvent("b");
+
+    while (!this.maze.b.finished) {
+      this.maze.onTick();
+    }
+
+    t.checkExpect(this.maze.bfsSteps, this.maze.b.expansions);
+    t.checkExpect(this.maze.onPath.get(0), true);
+    t.checkExpect(this.maze.onPath.get(399), true);
+    t.checkExpect(this.maze.onPath, this.maze.b.pathCells());
+    t.checkExpect(this.maze.dirty.get(399), true);
+    t.checkExpect(this.maze.visited, this.maze.b.visitedCells());
+
+    this.maze.onKeyEvent("u");
+    this.maze.makeScene();
+
+    t.checkExpect(this.maze.board.getPixel(19 * 30 + 5, 19 * 30 + 5), new Color(MazeRaster.PATH));
+  }
+
+  // to test the method visited in the MazeGame class
+  void testVisited(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.maze.visited.toString(), "{}");
+    t.checkExpect(this.maze.dirty.toString(), "{}");
+
+    this.maze.onKeyEvent("B");
+
+    t.checkExpect(this.maze.visited.toString(), "{0, 399}");
+    t.checkExpect(this.maze.dirty.toString(), "{0, 399}");
+
+    this.maze.visited(21);
+
+    t.checkExpect(this.maze.visited.toString(), "{0, 21, 399}");
+    t.checkExpect(this.maze.dirty.toString(), "{0, 21, 399}");
+
+    this.maze.dirty.clear();
+    this.maze.visited(21);
+
+    t.checkExpect(this.maze.dirty.toString(), "{}");
+  }
+
+  // to test the methods see, clear and listen in the VisitedCells class
+  void testVisitedCells(Tester t) {
+    VisitedCells seen = new VisitedCells(6);
+    ArrayList<Integer> heard = new ArrayList<Integer>();
+
+    seen.see(4);
+    seen.see(1);
+    seen.listen(heard::add);
+
+    t.checkExpect(heard, new ArrayList<Integer>(Arrays.asList(1, 4)));
+
+    seen.see(4);
+    seen.see(5);
+
+    t.checkExpect(heard, new ArrayList<Integer>(Arrays.asList(1, 4, 5)));
+    t.checkExpect(seen.get(5), true);
+    t.checkExpect(seen.get(0), false);
+
+    seen.clear();
+    seen.see(4);
+
+    t.checkExpect(seen.cells.toString(), "{4}");
+    t.checkExpect(heard, new ArrayList<Integer>(Arrays.asList(1, 4, 5, 4)));
+  }
+
+  // to test the method listen
+  void testListen(Tester t) {
+    this.initData();
+    MazeGame other = new MazeGame(20, 20, new Random(1));
+    BreadthFirstSearch search = new BreadthFirstSearch(this.maze.grid);
+
+    search.search();
+    search.listen(other);
+
+    t.checkExpect(other.visited.equals(search.visitedCells()), true);
+
+    search.search();
+
+    t.checkExpect(other.visited.equals(search.visitedCells()), true);
+
+    AStarSearch star = new AStarSearch(this.maze.grid);
+    MazeGame third = new MazeGame(20, 20, new Random(1));
+    third.visited = new BitSet();
+    star.listen(third);
+
+    while (!star.search()) {
+      t.checkExpect(third.visited.equals(star.visitedCells()), true);
+    }
+  }
+
+  // to test the method search in the DFS class
+  void testSearchDFS(Tester t) {
+    this.initData();
+
+    t.checkExpect(this.dfs.search(), true);
+    t.checkExpect(this.dfs.expansions, 1);
+
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(0);
+    line.removeEastWall(3);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    DepthFirstSearch search = new DepthFirstSearch(line);
+
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.size, 2);
+    t.checkExpect(search.worklist[1], 3);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.worklist[0], 1);
+    t.checkExpect(search.worklist[1], 4);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.search(), true);
+    t.checkExpect(search.expansions, 4);
+    t.checkExpect(search.path.toString(), "{0, 3, 4, 5}");
+  }
+
+  // to test the method solve in the DFS class
+  void testSolveDFS(Tester t) {
+    this.initData();
+
+    DepthFirstSearch stepped = new DepthFirstSearch(this.maze.grid);
+    DepthFirstSearch solved = new DepthFirstSearch(this.maze.grid);
+
+    while (!stepped.search()) {
+      t.checkExpect(stepped.size > 0, true);
+    }
+
+    t.checkExpect(solved.solve(), true);
+    t.checkExpect(solved.expansions, stepped.expansions);
+    t.checkExpect(solved.path, stepped.path);
+    t.checkExpect(solved.path.get(399), true);
+    t.checkExpect(solved.solve(), true);
+  }
+
+  // to test the method push in the DFS class
+  void testPushDFS(Tester t) {
+    DepthFirstSearch search = new DepthFirstSearch(new MazeGrid(40, 1));
+
+    for (int i = 1; i < 17; i++) {
+      search.push(i, i - 1);
+    }
+
+    t.checkExpect(search.size, 17);
+    t.checkExpect(search.worklist.length, 32);
+    t.checkExpect(search.worklist[16], 16);
+    t.checkExpect(search.cameFromEdge[16], 15);
+    t.checkExpect(search.visitedCells().cardinality(), 17);
+  }
+
+  // to test the method reconstruct in the DFS class
+  void testReconstructDFS(Tester t) {
+    this.initData();
+
+    this.dfs.reconstruct(0);
+
+    t.checkExpect(this.dfs.path.toString(), "{0}");
+
+    DepthFirstSearch search = new DepthFirstSearch(this.maze.grid, 2, 0);
+    search.cameFromEdge[0] = 1;
+    search.cameFromEdge[1] = 2;
+    search.reconstruct(0);
+
+    t.checkExpect(search.path.toString(), "{0, 1, 2}");
+  }
+
+  // to test the method search in the BidirectionalSearch class
+  void testSearchBidirectional(Tester t) {
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(0);
+    line.removeEastWall(3);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    BidirectionalSearch search = new BidirectionalSearch(line);
+
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.forwardTail, 3);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.backwardTail, 2);
+    t.checkExpect(search.worklist[4], 4);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.search(), true);
+    t.checkExpect(search.expansions(), 4);
+    t.checkExpect(search.pathCells().toString(), "{0, 3, 4, 5}");
+    t.checkExpect(search.search(), true);
+    t.checkExpect(search.expansions(), 4);
+
+    BidirectionalSearch single = new BidirectionalSearch(new MazeGrid(1, 1));
+
+    t.checkExpect(single.search(), true);
+    t.checkExpect(single.pathCells().toString(), "{0}");
+  }
+
+  // to test that the BidirectionalSearch finds the same path as the BFS with
+  // fewer expansions
+  void testBidirectionalExpansions(Tester t) {
+    MazeGame big = new MazeGame(100, 100, new Random(3));
+    BidirectionalSearch both = new BidirectionalSearch(big.grid);
+
+    while (!both.search()) {
+      t.checkExpect(both.expansions() < 10000, true);
+    }
+    while (!big.b.search()) {
+      t.checkExpect(big.b.expansions() < 10000, true);
+    }
+
+    t.checkExpect(both.pathCells(), big.b.pathCells());
+    t.checkExpect(both.expansions() < big.b.expansions(), true);
+
+    BidirectionalSearch middle = new BidirectionalSearch(big.grid, 5050, 120);
+
+    while (!middle.search()) {
+      t.checkExpect(middle.expansions() < 10000, true);
+    }
+
+    t.checkExpect(middle.pathCells().get(5050), true);
+    t.checkExpect(middle.pathCells().get(120), true);
+  }
+
+  // to test the method reconstruct in the BidirectionalSearch class
+  void testReconstructBidirectional(Tester t) {
+    BidirectionalSearch search = new BidirectionalSearch(new MazeGrid(4, 1));
+
+    search.cameFromEdge[1] = 0;
+    search.cameFromEdge[2] = 3;
+    search.reconstruct(1);
+
+    t.checkExpect(search.pathCells().toString(), "{0, 1}");
+
+    search.reconstruct(2);
+
+    t.checkExpect(search.pathCells().toString(), "{0, 1, 2, 3}");
+  }
+
+  // to test the methods push and pop in the IndexedMinHeap class
+  void testIndexedMinHeap(Tester t) {
+    IndexedMinHeap heap = new IndexedMinHeap(6);
+
+    t.checkExpect(heap.isEmpty(), true);
+
+    heap.push(4, 40);
+    heap.push(1, 10);
+    heap.push(5, 50);
+    heap.push(2, 20);
+    heap.push(5, 5);
+    heap.push(1, 30);
+
+    t.checkExpect(heap.size, 4);
+    t.checkExpect(heap.position[5], 0);
+    t.checkExpect(heap.pop(), 5);
+    t.checkExpect(heap.position[5], -1);
+    t.checkExpect(heap.pop(), 1);
+    t.checkExpect(heap.pop(), 2);
+    t.checkExpect(heap.pop(), 4);
+    t.checkExpect(heap.isEmpty(), true);
+
+    heap.push(3, 7);
+
+    t.checkExpect(heap.pop(), 3);
+  }
+
+  // to test the methods heuristic and key in the AStarSearch class
+  void testHeuristic(Tester t) {
+    AStarSearch search = new AStarSearch(new MazeGrid(4, 3));
+
+    t.checkExpect(search.heuristic(0), 5);
+    t.checkExpect(search.heuristic(11), 0);
+    t.checkExpect(search.heuristic(6), 2);
+
+    search.distance[6] = 3;
+
+    t.checkExpect(search.key(6), (5L << 32) | 2);
+  }
+
+  // to test the method search in the AStarSearch class
+  void testSearchAStar(Tester t) {
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(0);
+    line.removeEastWall(3);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    AStarSearch search = new AStarSearch(line);
+
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.worklist.size, 2);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.distance[4], 2);
+    t.checkExpect(search.search(), false);
+    t.checkExpect(search.search(), true);
+    t.checkExpect(search.expansions(), 5);
+    t.checkExpect(search.pathCells().toString(), "{0, 3, 4, 5}");
+  }
+
+  // to test that the AStarSearch finds the same path as the BFS while
+  // expanding fewer cells
+  void testAStarExpansions(Tester t) {
+    MazeGame big = new MazeGame(100, 100, new Random(3));
+
+    while (!big.a.search()) {
+      t.checkExpect(big.a.expansions() < 10000, true);
+    }
+    while (!big.b.search()) {
+      t.checkExpect(big.b.expansions() < 10000, true);
+    }
+
+    t.checkExpect(big.a.pathCells(), big.b.pathCells());
+    t.checkExpect(big.a.expansions() <= big.b.expansions(), true);
+  }
+
+  // to test the method reconstruct in the AStarSearch class
+  void testReconstructAStar(Tester t) {
+    AStarSearch search = new AStarSearch(new MazeGrid(4, 1), 3, 0);
+
+    search.cameFromEdge[0] = 2;
+    search.cameFromEdge[2] = 3;
+    search.reconstruct(0);
+
+    t.checkExpect(search.pathCells().toString(), "{0, 2, 3}");
+  }
+
+  // to test the constructor and the method attach in the PathIndex class
+  void testPathIndexTree(Tester t) {
+    MazeGrid line = new MazeGrid(8, 1);
+
+    for (int i = 0; i < 7; i++) {
+      line.removeEastWall(i);
+    }
+
+    PathIndex index = new PathIndex(line);
+
+    t.checkExpect(index.parent, new int[] {0, 0, 1, 2, 3, 4, 5, 6});
+    t.checkExpect(index.depth, new int[] {0, 1, 2, 3, 4, 5, 6, 7});
+    t.checkExpect(index.jump, new int[] {0, 0, 1, 0, 3, 4, 3, 0});
+  }
+
+  // to test the methods ancestorAt, lowestCommonAncestor and distance in the
+  // PathIndex class
+  void testPathIndexQueries(Tester t) {
+    this.initData();
+
+    PathIndex index = this.maze.paths;
+    int[] out = new int[4];
+
+    for (int cell = 1; cell < 400; cell = cell + 37) {
+      t.checkExpect(index.ancestorAt(cell, index.depth[cell] - 1), index.parent[cell]);
+      t.checkExpect(index.ancestorAt(cell, 0), 0);
+      t.checkExpect(index.lowestCommonAncestor(cell, 0), 0);
+      t.checkExpect(index.lowestCommonAncestor(cell, index.parent[cell]), index.parent[cell]);
+      t.checkExpect(index.distance(cell, cell), 0);
+      t.checkExpect(this.maze.grid.neighbors(cell, out) > 0, true);
+      t.checkExpect(index.distance(cell, out[0]), 1);
+    }
+
+    BreadthFirstSearch search = new BreadthFirstSearch(this.maze.grid, 57, 341);
+
+    while (!search.search()) {
+      t.checkExpect(search.count > 0, true);
+    }
+
+    t.checkExpect(index.distance(57, 341), search.path.cardinality() - 1);
+    t.checkExpect(index.distance(341, 57), search.path.cardinality() - 1);
+  }
+
+  // to test the method path in the PathIndex class
+  void testPathIndexPath(Tester t) {
+    this.initData();
+
+    BreadthFirstSearch search = new BreadthFirstSearch(this.maze.grid, 390, 25);
+
+    while (!search.search()) {
+      t.checkExpect(search.count > 0, true);
+    }
+
+    PrimitiveIterator.OfInt path = this.maze.paths.path(390, 25);
+    BitSet cells = new BitSet();
+    int previous = path.nextInt();
+    int[] out = new int[4];
+
+    t.checkExpect(previous, 390);
+
+    while (path.hasNext()) {
+      int next = path.nextInt();
+      int found = this.maze.grid.neighbors(previous, out);
+      boolean beside = false;
+
+      for (int i = 0; i < found; i++) {
+        beside = beside || out[i] == next;
+      }
+
+      t.checkExpect(beside, true);
+      cells.set(next);
+      previous = next;
+    }
+
+    cells.set(390);
+
+    t.checkExpect(previous, 25);
+    t.checkExpect(cells, search.path);
+    t.checkException(new NoSuchElementException("The path has no more cells"), path, "nextInt");
+
+    PrimitiveIterator.OfInt same = this.maze.paths.path(7, 7);
+
+    t.checkExpect(same.nextInt(), 7);
+    t.checkExpect(same.hasNext(), false);
+  }
+
+  // to test the method frontier in each search
+  void testFrontier(Tester t) {
+    MazeGrid grid = new MazeGrid(3, 1);
+    grid.removeWallAt(0);
+    grid.removeWallAt(2);
+
+    BreadthFirstSearch b = new BreadthFirstSearch(grid);
+    DepthFirstSearch d = new DepthFirstSearch(grid);
+    BidirectionalSearch bi = new BidirectionalSearch(grid);
+    AStarSearch a = new AStarSearch(grid);
+
+    t.checkExpect(b.frontier(), 1);
+    t.checkExpect(d.frontier(), 1);
+    t.checkExpect(bi.frontier(), 2);
+    t.checkExpect(a.frontier(), 1);
+
+    b.search();
+    bi.search();
+
+    t.checkExpect(b.frontier(), 1);
+    t.checkExpect(bi.frontier(), 2);
+
+    while (!b.search()) {
+      // runs the search to its end
+    }
+    t.checkExpect(b.frontier(), 0);
+  }
+
+  // to test that the UnionFind class counts its finds and the links they follow
+  void testUnionFindCounts(Tester t) {
+    UnionFind sets = new UnionFind(4);
+
+    sets.parent[1] = 0;
+    sets.parent[2] = 1;
+
+    t.checkExpect(sets.find(2), 0);
+    t.checkExpect(sets.finds, 1L);
+    t.checkExpect(sets.hops, 1L);
+    t.checkExpect(sets.find(0), 0);
+    t.checkExpect(sets.finds, 2L);
+    t.checkExpect(sets.hops, 1L);
+
+    sets.reset();
+    t.checkExpect(sets.finds, 0L);
+    t.checkExpect(sets.hops, 0L);
+  }
+
+  // to test the LatencyHistogram class
+  void testLatencyHistogram(Tester t) {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    t.checkExpect(histogram.count(), 0L);
+    t.checkExpect(histogram.mean(), 0.0);
+    t.checkExpect(histogram.percentile(0.99), 0L);
+    t.checkExpect(LatencyHistogram.bucketOf(0), 0);
+    t.checkExpect(LatencyHistogram.bucketOf(1), 0);
+    t.checkExpect(LatencyHistogram.bucketOf(1000), 9);
+    t.checkExpect(LatencyHistogram.bucketOf(Long.MAX_VALUE), 62);
+
+    for (int i = 0; i < 99; i++) {
+      histogram.record(1000);
+    }
+    histogram.record(3000000);
+
+    t.checkExpect(histogram.count(), 100L);
+    t.checkExpect(histogram.mean(), 30990.0);
+    t.checkExpect(histogram.percentile(0.5), 1024L);
+    t.checkExpect(histogram.percentile(0.99), 1024L);
+    t.checkExpect(histogram.percentile(1), 4194304L);
+    t.checkExpect(histogram.max(), 3000000L);
+    t.checkExpect(histogram.toString(),
+        "100 runs, mean 0.03 ms, p50 < 0.00 ms, p99 < 0.00 ms, max 3.00 ms");
+
+    histogram.reset();
+    t.checkExpect(histogram.count(), 0L);
+    t.checkExpect(histogram.max(), 0L);
+  }
+
+  // to test the MazeMetrics class
+  void testMazeMetrics(Tester t) {
+    MazeMetrics metrics = new MazeMetrics();
+
+    metrics.phase(Phase.MAKE_MAZE).record(2000000);
+    metrics.phase(Phase.MAKE_MAZE).record(4000000);
+    metrics.phase(Phase.RENDER).record(1000000);
+    metrics.unionFind(10, 3, 5);
+    metrics.unionFind(10, 3, 15);
+    metrics.searched(7, 4);
+    metrics.searched(2, 1);
+
+    t.checkExpect(metrics.getMazesMade(), 2L);
+    t.checkExpect(metrics.getMakeMazeMillis(), 3.0);
+    t.checkExpect(metrics.getPathIndexMillis(), 0.0);
+    t.checkExpect(metrics.getFrames(), 1L);
+    t.checkExpect(metrics.getRenderMillis(), 1.0);
+    t.checkExpect(metrics.getRenderP99Millis(), 1.048576);
+    t.checkExpect(metrics.getUnionFinds(), 20L);
+    t.checkExpect(metrics.getUnionLinks(), 6L);
+    t.checkExpect(metrics.getMeanFindPathLength(), 1.0);
+    t.checkExpect(metrics.getExpansions(), 9L);
+    t.checkExpect(metrics.getFrontier(), 1L);
+    t.checkExpect(metrics.getMaxFrontier(), 4L);
+    t.checkExpect(metrics.getPhases().length, 4);
+    t.checkExpect(metrics.getPhases()[1],
+        "makeMaze: 2 runs, mean 3.00 ms, p50 < 2.10 ms, p99 < 4.19 ms, max 4.00 ms");
+    t.checkExpect(metrics.overlay().get(1), "makeMaze 3.00 ms");
+    t.checkExpect(metrics.overlay().get(6), "expanded 9, frontier 1 (max 4)");
+
+    long start = System.nanoTime();
+    metrics.time(Phase.PATH_INDEX, start);
+    t.checkExpect(metrics.phase(Phase.PATH_INDEX).count(), 1L);
+
+    metrics.reset();
+    t.checkExpect(metrics.getMazesMade(), 0L);
+    t.checkExpect(metrics.getUnionFinds(), 0L);
+    t.checkExpect(metrics.getExpansions(), 0L);
+    t.checkExpect(metrics.getMaxFrontier(), 0L);
+  }
+
+  // to test that the engine and the game record into the global metrics
+  void testGlobalMetrics(Tester t) {
+    long mazes = MazeMetrics.GLOBAL.getMazesMade();
+    long links = MazeMetrics.GLOBAL.getUnionLinks();
+    long indexes = MazeMetrics.GLOBAL.phase(Phase.PATH_INDEX).count();
+    long frames = MazeMetrics.GLOBAL.getFrames();
+    long expansions = MazeMetrics.GLOBAL.getExpansions();
+
+    MazeGame game = new MazeGame(4, 3, new Random(3));
+
+    t.checkExpect(MazeMetrics.GLOBAL.getMazesMade(), mazes + 1);
+    t.checkExpect(MazeMetrics.GLOBAL.getUnionLinks(), links + 11);
+    t.checkExpect(MazeMetrics.GLOBAL.phase(Phase.PATH_INDEX).count(), indexes + 1);
+
+    game.makeScene();
+    game.onKeyEvent("b");
+    game.onTick();
+
+    t.checkExpect(MazeMetrics.GLOBAL.getFrames(), frames + 1);
+    t.checkExpect(MazeMetrics.GLOBAL.getExpansions(), expansions + 1);
+    t.checkExpect(MazeMetrics.GLOBAL.getFrontier(), (long) game.b.frontier());
+  }
+
+  // to test the method register in the MazeMetrics class
+  void testRegisterMetrics(Tester t) {
+    MazeMetrics.register();
+    MazeMetrics.register();
+
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(MazeMetrics.NAME);
+
+      t.checkExpect(server.isRegistered(name), true);
+      t.checkExpect(server.getAttribute(name, "MazesMade"), MazeMetrics.GLOBAL.getMazesMade());
+    }
+    catch (JMException e) {
+      t.checkExpect(e, null);
+    }
+  }
+
+  // to test the method drawMetrics and the key 'm'
+  void testDrawMetrics(Tester t) {
+    this.initData();
+
+    WorldScene hidden = this.maze.makeScene();
+    MazeMetrics metrics = new MazeMetrics();
+    metrics.unionFind(10, 4, 6);
+    metrics.searched(7, 3);
+
+    WorldScene lines = new WorldScene(0, 0);
+    this.maze.drawMetrics(lines, metrics);
+
+    WorldScene expected = new WorldScene(0, 0);
+    String[] text = new String[] {"orderEdges 0.00 ms", "makeMaze 0.00 ms",
+        "pathIndex 0.00 ms", "render 0.00 ms", "frame p99 < 0.00 ms",
+        "union-find 10 finds, 0.60 links/find", "expanded 7, frontier 3 (max 3)"};
+
+    for (int i = 0; i < text.length; i++) {
+      expected.placeImageXY(new TextImage(text[i], 13, Color.RED),
+          5 * 20 + this.maze.raster.width / 2, 5 * 20 + 20 + i * 16);
+    }
+
+    t.checkExpect(lines, expected);
+
+    this.maze.onKeyEvent("m");
+    t.checkExpect(this.maze.showMetrics, true);
+
+    // the overlay shows the frame just drawn, so it is read before the next one
+    this.maze.drawMetrics(hidden, MazeMetrics.GLOBAL);
+    t.checkExpect(this.maze.makeScene(), hidden);
+
+    this.maze.onKeyEvent("m");
+    t.checkExpect(this.maze.showMetrics, false);
+  }
+
+  // to test the method reset in each search
+  void testResetSolvers(Tester t) {
+    this.initData();
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      ISolver reused = algorithm.make(this.maze.grid, 0, 399);
+      ISolver fresh = algorithm.make(this.maze.grid, 250, 13);
+
+      while (!reused.search()) {
+        t.checkExpect(reused.expansions() < 400, true);
+      }
+      reused.reset(250, 13);
+
+      t.checkExpect(reused.expansions(), 0);
+      t.checkExpect(reused.pathCells().isEmpty(), true);
+
+      while (!fresh.search()) {
+        reused.search();
+      }
+
+      t.checkExpect(reused.search(), true);
+      t.checkExpect(reused.expansions(), fresh.expansions());
+      t.checkExpect(reused.pathCells(), fresh.pathCells());
+    }
+  }
+
+  // to test the method clear in the IndexedMinHeap class
+  void testClearHeap(Tester t) {
+    IndexedMinHeap heap = new IndexedMinHeap(4);
+
+    heap.push(2, 5);
+    heap.push(3, 1);
+    heap.clear();
+
+    t.checkExpect(heap.isEmpty(), true);
+    t.checkExpect(heap.position, new int[] {-1, -1, -1, -1});
+  }
+
+  // to test the SolverRace and Racer classes
+  void testSolverRace(Tester t) {
+    this.initData();
+
+    MazeSnapshot snapshot = this.maze.snapshot();
+    SolverRace race = new SolverRace(snapshot,
+        Arrays.asList(Algorithm.BFS, Algorithm.DFS, Algorithm.ASTAR), 0, 399);
+
+    t.checkExpect(race.racers.size(), 3);
+    t.checkExpect(race.finished(), false);
+    t.checkExpect(race.winner(), null);
+    t.checkExpect(race.racers.get(0).elapsed(), 0L);
+    t.checkExpect(race.racers.get(0).rate(), 0.0);
+    t.checkExpect(race.toString().startsWith("No winner yet; BFS 0 expanded"), true);
+
+    race.start();
+    race.join();
+
+    t.checkExpect(race.finished(), true);
+
+    for (Racer racer : race.racers) {
+      ISolver alone = snapshot.solver(racer.algorithm, 0, 399);
+
+      while (!alone.search()) {
+        // runs the same search on this thread to compare against
+      }
+
+      t.checkExpect(racer.found, true);
+      t.checkExpect(racer.expansions, alone.expansions());
+      t.checkExpect(racer.path, alone.pathCells());
+      t.checkExpect(BitSet.valueOf(new long[] {racer.seen.get(0), racer.seen.get(1),
+          racer.seen.get(2), racer.seen.get(3), racer.seen.get(4), racer.seen.get(5),
+          racer.seen.get(6)}), alone.visitedCells());
+      t.checkExpect(racer.elapsed() > 0, true);
+      t.checkExpect(racer.rate() > 0, true);
+    }
+
+    Racer winner = race.winner();
+
+    for (Racer racer : race.racers) {
+      t.checkExpect(winner.elapsed() <= racer.elapsed(), true);
+    }
+    t.checkExpect(race.toString().startsWith(winner.algorithm + " wins; BFS "), true);
+    t.checkExpect(race.racers.get(1).toString().startsWith(
+        "DFS " + race.racers.get(1).expansions + " expanded in "), true);
+
+    // a race between the ends of a maze that can not be crossed has no winner
+    SolverRace walled = new SolverRace(new MazeSnapshot(new MazeGrid(2, 1)),
+        Arrays.asList(Algorithm.BFS), 0, 1);
+
+    walled.start();
+    walled.join();
+    t.checkExpect(walled.finished(), true);
+    t.checkExpect(walled.winner(), null);
+    t.checkExpect(walled.racers.get(0).path, new BitSet());
+    walled.stop();
+  }
+
+  // to test the methods startRace, endRace and drawRace, the RaceLane class
+  // and the key 'x'
+  void testRace(Tester t) {
+    this.initData();
+
+    this.maze.onKeyEvent("b");
+    this.maze.onTick();
+    this.maze.makeScene();
+    this.maze.onKeyEvent("x");
+
+    t.checkExpect(this.maze.bfs, false);
+    t.checkExpect(this.maze.visited.isEmpty(), true);
+    t.checkExpect(this.maze.dirty.get(0), true);
+    t.checkExpect(this.maze.onPath.isEmpty(), true);
+    t.checkExpect(this.maze.lanes.size(), 2);
+    t.checkExpect(this.maze.lanes.get(0).raster.cell, 12);
+    t.checkExpect(this.maze.lanes.get(0).raster.width, 20 * 15 + 3);
+
+    this.maze.race.join();
+
+    WorldScene scene = this.maze.makeScene();
+    RaceLane lane = this.maze.lanes.get(0);
+    Racer bfs = lane.racer;
+
+    t.checkExpect(bfs.algorithm, Algorithm.BFS);
+    t.checkExpect(lane.shown[0], bfs.seen.get(0));
+    t.checkExpect(lane.path, bfs.path);
+    t.checkExpect(lane.raster.pixels[3 * lane.raster.width + 3], MazeRaster.PATH);
+    t.checkExpect(lane.board.getPixel(3, 3), new Color(MazeRaster.PATH));
+
+    // the lanes stand side by side where the board goes, 10 pixels apart
+    Racer dfs = this.maze.lanes.get(1).racer;
+    WorldScene expected = new WorldScene(20 * 40, 20 * 40);
+
+    expected.placeImageXY(lane.board, 100 + 303 / 2, 100 + 303 / 2);
+    expected.placeImageXY(new TextImage("BFS: " + bfs.expansions + " expanded", 13, Color.black),
+        100 + 303 / 2, 403 + 15);
+    expected.placeImageXY(new TextImage(String.format("%.2f ms, %.2f M/s", bfs.elapsed() / 1e6,
+        bfs.rate() / 1e6), 13, Color.black), 100 + 303 / 2, 403 + 30);
+    expected.placeImageXY(this.maze.lanes.get(1).board, 100 + 313 + 303 / 2, 100 + 303 / 2);
+    expected.placeImageXY(new TextImage("DFS: " + dfs.expansions + " expanded", 13, Color.black),
+        100 + 313 + 303 / 2, 403 + 15);
+    expected.placeImageXY(new TextImage(String.format("%.2f ms, %.2f M/s", dfs.elapsed() / 1e6,
+        dfs.rate() / 1e6), 13, Color.black), 100 + 313 + 303 / 2, 403 + 30);
+    expected.placeImageXY(new TextImage("Winner: " + this.maze.race.winner().algorithm, 15,
+        Color.black), 100 + 303, 403 + 50);
+    expected.placeImageXY(new TextImage("MAZE", 35, Color.BLACK), (20 * 30 + 20 * 5 * 2 + 15) / 2,
+        20 * 30 / 8);
+    expected.placeImageXY(
+        new TextImage("Key: 'b' = BFS, 'B' = Bi-BFS, 'd' = DFS, 'a' = A*, 'r' = Reset, "
+            + "'p' = Previous, 'R' = Refresh", 12, Color.BLACK),
+        (20 * 50 + 20 * 5 * 2 + 15) / 2, 20 * 30 / 8);
+    expected.placeImageXY(new TextImage("DFS steps: 0", 15, Color.black), 20 * 30 / 3,
+        20 * 30 + 20 * 5 + 15);
+    expected.placeImageXY(new TextImage("Bi-BFS steps: 0", 15, Color.black), 20 * 20,
+        20 * 30 + 20 * 5 + 15);
+    expected.placeImageXY(new TextImage("BFS steps: 0", 15, Color.black), 20 * 30,
+        20 * 30 + 20 * 5 + 15);
+    expected.placeImageXY(new TextImage("A* steps: 0", 15, Color.black), 20 * 20,
+        20 * 30 + 20 * 5 + 35);
+
+    t.checkExpect(scene, expected);
+
+    // a second frame has nothing new to draw
+    lane.update();
+    t.checkExpect(lane.shown[0], bfs.seen.get(0));
+
+    this.maze.onKeyEvent("x");
+    t.checkExpect(this.maze.race, null);
+    t.checkExpect(this.maze.lanes, null);
+
+    this.maze.makeScene();
+    t.checkExpect(this.maze.dirty.isEmpty(), true);
+    t.checkExpect(this.maze.board.getPixel(3, 3), new Color(MazeRaster.START));
+
+    this.maze.onKeyEvent("x");
+    SolverRace stopped = this.maze.race;
+    this.maze.onKeyEvent("R");
+    t.checkExpect(this.maze.race, null);
+
+    // the stopped racers are waited for, so they record nothing after this test
+    stopped.join();
+
+    // there is no race until the maze is finished
+    MazeGame building = new MazeGame(5, 5, 2L, true);
+    building.onKeyEvent("x");
+    t.checkExpect(building.race, null);
+  }
+
+  // to test the methods distances, expand and claim in the
+  // LevelBreadthFirstSearch class
+  void testLevelBreadthFirstSearch(Tester t) {
+    this.initData();
+
+    ForkJoinPool pool = new ForkJoinPool(3);
+    int[] expected = new int[400];
+
+    for (int cell = 0; cell < 400; cell++) {
+      expected[cell] = this.maze.paths.distance(5, cell);
+    }
+
+    // every level split between the threads, none of them, and the default
+    t.checkExpect(LevelBreadthFirstSearch.distances(this.maze.grid, 5, pool, 1), expected);
+    t.checkExpect(LevelBreadthFirstSearch.distances(this.maze.grid, 5, pool, Integer.MAX_VALUE),
+        expected);
+    t.checkExpect(LevelBreadthFirstSearch.distances(this.maze.grid, 5, pool), expected);
+
+    // a grid with loops, where two cells of a level share an unseen neighbor
+    MazeGrid open = new MazeGrid(40, 30);
+    for (int edge = 0; edge < 2 * open.size(); edge++) {
+      if (open.edgeTo(edge) < open.size() && (edge % 2 == 1 || edge / 2 % 40 < 39)) {
+        open.removeWallAt(edge);
+      }
+    }
+
+    int[] manhattan = new int[open.size()];
+    for (int cell = 0; cell < open.size(); cell++) {
+      manhattan[cell] = cell % 40 + cell / 40;
+    }
+    t.checkExpect(LevelBreadthFirstSearch.distances(open, 0, pool, 2), manhattan);
+
+    // a cell walled off from the rest is never reached
+    MazeGrid walled = new MazeGrid(3, 1);
+    walled.removeWallAt(0);
+    t.checkExpect(LevelBreadthFirstSearch.distances(walled, 0, pool, 1), new int[] {0, 1, -1});
+    t.checkExpect(LevelBreadthFirstSearch.distances(walled, 2, pool), new int[] {-1, -1, 0});
+
+    int[] distance = new int[] {0, -1, -1, -1};
+    int[] next = new int[4];
+    t.checkExpect(LevelBreadthFirstSearch.expand(new MazeGrid(4, 1), distance, new int[] {0}, 1,
+        next, 1), 0);
+
+    AtomicLongArray bits = new AtomicLongArray(2);
+    t.checkExpect(LevelBreadthFirstSearch.claim(bits, 70), true);
+    t.checkExpect(LevelBreadthFirstSearch.claim(bits, 70), false);
+    t.checkExpect(LevelBreadthFirstSearch.claim(bits, 6), true);
+    t.checkExpect(bits.get(0), 1L << 6);
+    t.checkExpect(bits.get(1), 1L << 6);
+
+    pool.shutdown();
+  }
+
+  // to test the methods copy in the MazeGrid class and snapshot
+  void testSnapshot(Tester t) {
+    this.initData();
+
+    MazeGrid copy = this.maze.grid.copy();
+    MazeSnapshot snapshot = this.maze.snapshot();
+
+    t.checkExpect(copy.walls, this.maze.grid.walls);
+    t.checkExpect(snapshot.size(), 400);
+
+    boolean east = this.maze.grid.hasEastWall(0);
+    this.maze.grid.walls[0] = ~this.maze.grid.walls[0];
+
+    t.checkExpect(copy.hasEastWall(0), east);
+    t.checkExpect(snapshot.hasEastWall(0), east);
+    t.checkExpect(snapshot.hasSouthWall(0), this.maze.grid.hasSouthWall(0) == false);
+  }
+
+  // to test the method make in the Algorithm enum
+  void testAlgorithmMake(Tester t) {
+    MazeGrid grid = new MazeGrid(2, 2);
+
+    t.checkExpect(Algorithm.BFS.make(grid, 0, 3) instanceof BreadthFirstSearch, true);
+    t.checkExpect(Algorithm.DFS.make(grid, 0, 3) instanceof DepthFirstSearch, true);
+    t.checkExpect(Algorithm.BIDIRECTIONAL.make(grid, 0, 3) instanceof BidirectionalSearch, true);
+    t.checkExpect(Algorithm.ASTAR.make(grid, 0, 3) instanceof AStarSearch, true);
+  }
+
+  // to test the method solveAll in the BatchSolver class
+  void testSolveAll(Tester t) {
+    MazeGame game = new MazeGame(30, 30, new Random(4));
+    BatchSolver solver = new BatchSolver(game.snapshot(), 4);
+    ArrayList<SolveRequest> requests = new ArrayList<SolveRequest>();
+    Random pick = new Random(5);
+
+    for (int i = 0; i < 400; i++) {
+      requests.add(new SolveRequest(pick.nextInt(900), pick.nextInt(900),
+          Algorithm.values()[i % 4]));
+    }
+
+    List<SolveResult> results = solver.solveAll(requests);
+    solver.close();
+
+    t.checkExpect(results.size(), 400);
+
+    for (int i = 0; i < 400; i++) {
+      SolveResult result = results.get(i);
+      SolveRequest request = requests.get(i);
+
+      t.checkExpect(result.request, request);
+      t.checkExpect(result.path.length - 1, game.paths.distance(request.firstCell, request.target));
+      t.checkExpect(result.path[0], request.firstCell);
+      t.checkExpect(result.path[result.path.length - 1], request.target);
+      t.checkExpect(result.expansions > 0, true);
+    }
+
+    t.checkExpect(solver.pools.get(Algorithm.BFS).size() <= 4, true);
+  }
 
+  // to test the method order in the BatchSolver class
+  void testOrderPath(Tester t) {
+    MazeGrid line = new MazeGrid(3, 2);
+    line.removeEastWall(0);
+    line.removeSouthWall(0);
+    line.removeEastWall(3);
+    line.removeEastWall(4);
+    line.removeSouthWall(2);
+    BatchSolver solver = new BatchSolver(new MazeSnapshot(line), 1);
+    BitSet path = new BitSet();
+    path.set(0);
+    path.set(3);
+    path.set(4);
+    path.set(5);
+
+    t.checkExpect(solver.order(path, 0), new int[] {0, 3, 4, 5});
+    t.checkExpect(solver.order(path, 5), new int[] {5, 4, 3, 0});
+
+    solver.close();
   }
 
   // to test the method connectTo
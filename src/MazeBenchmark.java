@@ -0,0 +1,199 @@
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+// Times the parts of making and solving a maze at several sizes, so a change
+// to any of them can be compared against a baseline run:
+//
+//   java MazeBenchmark [--warmup=N] [--iterations=N] [--seed=N] [--only=name,...] [size ...]
+//
+// every maze is square and made from the same seed each run. For each part
+// and size it prints the mean and fastest time of an operation and the bytes
+// the operation allocated, read from the thread's allocation counter. The
+// sizes default to 50 up to 4000. It builds and runs without javalib
+class MazeBenchmark {
+  // the number of untimed runs before the timed ones, to let the JIT settle
+  int warmups;
+  // the number of timed runs
+  int iterations;
+  // the seed every maze is made from
+  long seed;
+  // the widths and heights of the mazes
+  List<Integer> sizes;
+  // the parts being timed
+  List<IBenchmark> benchmarks;
+  // where the results are printed
+  PrintStream out;
+  // the values the benchmarks produced folded together, kept so the JIT can
+  // not throw away the work that made them
+  static volatile int sink;
+
+  // starting constructor for a benchmark run
+  MazeBenchmark(int warmups, int iterations, long seed, List<Integer> sizes,
+      List<IBenchmark> benchmarks, PrintStream out) {
+    this.warmups = warmups;
+    this.iterations = iterations;
+    this.seed = seed;
+    this.sizes = sizes;
+    this.benchmarks = benchmarks;
+    this.out = out;
+  }
+
+  // reads the arguments and runs the benchmarks they ask for
+  public static void main(String[] args) {
+    try {
+      MazeBenchmark.parse(args, System.out).run();
+    }
+    catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println("usage: java MazeBenchmark [--warmup=N] [--iterations=N] [--seed=N]"
+          + " [--only=name,...] [size ...]");
+      System.exit(1);
+    }
+  }
+
+  // every part of making and solving a maze that can be timed
+  static List<IBenchmark> all() {
+    ArrayList<IBenchmark> all = new ArrayList<IBenchmark>();
+
+    all.add(new EdgeOrderBenchmark());
+    all.add(new MakeMazeBenchmark());
+    all.add(new SearchBenchmark(Algorithm.BFS));
+    all.add(new SearchBenchmark(Algorithm.DFS));
+    all.add(new DistanceBenchmark("distances", LevelBreadthFirstSearch.SEQUENTIAL_BELOW));
+    all.add(new DistanceBenchmark("distancesSeq", Integer.MAX_VALUE));
+    return all;
+  }
+
+  // a benchmark run for the given command line arguments that prints to the
+  // given stream
+  static MazeBenchmark parse(String[] args, PrintStream out) {
+    int warmups = 3;
+    int iterations = 5;
+    long seed = 2510;
+    List<IBenchmark> benchmarks = MazeBenchmark.all();
+    ArrayList<Integer> sizes = new ArrayList<Integer>();
+
+    for (String arg : args) {
+      if (arg.startsWith("--warmup=")) {
+        warmups = Integer.parseInt(arg.substring(9));
+      }
+      else if (arg.startsWith("--iterations=")) {
+        iterations = Integer.parseInt(arg.substring(13));
+      }
+      else if (arg.startsWith("--seed=")) {
+        seed = Long.parseLong(arg.substring(7));
+      }
+      else if (arg.startsWith("--only=")) {
+        benchmarks = MazeBenchmark.only(arg.substring(7).split(","));
+      }
+      else {
+        sizes.add(Integer.parseInt(arg));
+      }
+    }
+
+    if (warmups < 0 || iterations < 1) {
+      throw new IllegalArgumentException("Expected at least one timed iteration");
+    }
+    if (sizes.isEmpty()) {
+      sizes.add(50);
+      sizes.add(500);
+      sizes.add(1000);
+      sizes.add(2000);
+      sizes.add(4000);
+    }
+    return new MazeBenchmark(warmups, iterations, seed, sizes, benchmarks, out);
+  }
+
+  // the benchmarks with the given names
+  static List<IBenchmark> only(String[] names) {
+    ArrayList<IBenchmark> chosen = new ArrayList<IBenchmark>();
+
+    for (String name : names) {
+      IBenchmark found = null;
+
+      for (IBenchmark benchmark : MazeBenchmark.all()) {
+        if (benchmark.name().equals(name)) {
+          found = benchmark;
+        }
+      }
+      if (found == null) {
+        throw new IllegalArgumentException("There is no benchmark named " + name);
+      }
+      chosen.add(found);
+    }
+    return chosen;
+  }
+
+  // EFFECT: times every benchmark at every size, printing a line for each
+  // returns the results in the order they were printed
+  List<BenchmarkResult> run() {
+    ArrayList<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+
+    this.out.println(String.format("%-14s %6s %6s %12s %12s %14s %10s", "Benchmark", "size", "ops",
+        "ms/op", "min ms/op", "bytes/op", "MB/s"));
+
+    for (IBenchmark benchmark : this.benchmarks) {
+      for (int size : this.sizes) {
+        BenchmarkResult result = this.measure(benchmark, size);
+
+        results.add(result);
+        this.out.println(result);
+      }
+    }
+    return results;
+  }
+
+  // EFFECT: sets the given benchmark up at the given size, runs it untimed
+  // for the warmups and then timed for the iterations
+  // returns how long the timed runs took and how much they allocated
+  BenchmarkResult measure(IBenchmark benchmark, int size) {
+    benchmark.setUp(size, this.seed);
+
+    for (int i = 0; i < this.warmups; i++) {
+      MazeBenchmark.consume(benchmark.run());
+    }
+
+    long total = 0;
+    long fastest = Long.MAX_VALUE;
+    long allocatedBefore = MazeBenchmark.allocatedBytes();
+
+    for (int i = 0; i < this.iterations; i++) {
+      long start = System.nanoTime();
+      MazeBenchmark.consume(benchmark.run());
+      long took = System.nanoTime() - start;
+
+      total = total + took;
+      fastest = Math.min(fastest, took);
+    }
+
+    long allocated = MazeBenchmark.allocatedBytes() - allocatedBefore;
+    benchmark.tearDown();
+
+    return new BenchmarkResult(benchmark.name(), size, this.iterations, total / this.iterations,
+        fastest, allocatedBefore < 0 ? -1 : allocated / this.iterations);
+  }
+
+  // EFFECT: keeps the given result of a benchmark alive
+  static void consume(int result) {
+    sink = sink ^ result;
+  }
+
+  // the number of bytes this thread has allocated so far, or -1 when the
+  // JVM does not count them
+  static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    if (threads instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean counting = (com.sun.management.ThreadMXBean) threads;
+
+      if (counting.isThreadAllocatedMemorySupported()) {
+        counting.setThreadAllocatedMemoryEnabled(true);
+        return counting.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,109 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+// Keeps the mazes built most recently, up to a number of bytes, so asking for
+// the same maze again hands back the one already built. The least recently
+// used mazes are dropped first once the bytes run out. Any number of threads
+// can share one cache; the mazes it hands out are shared too, so nothing may
+// change their walls
+class MazeCache {
+  // the mazes, from least to most recently used
+  LinkedHashMap<MazeKey, MazeGrid> mazes;
+  // the most bytes the mazes may take up
+  long maxBytes;
+  // the bytes the mazes take up now
+  long bytes;
+  // the number of mazes found in the cache and the number that had to be built
+  long hits;
+  long misses;
+  // the number of mazes dropped to make room
+  long evictions;
+
+  // starting constructor for a cache holding up to the given number of bytes
+  MazeCache(long maxBytes) {
+    this.mazes = new LinkedHashMap<MazeKey, MazeGrid>(16, 0.75f, true);
+    this.maxBytes = maxBytes;
+  }
+
+  // the maze of the given size, seed and generator, built only if it is not
+  // already in the cache; it is built outside the lock, so a maze being built
+  // on one thread does not hold up another thread looking for a different one
+  public MazeGrid get(int width, int height, long seed, Generator generator) {
+    MazeKey key = new MazeKey(width, height, seed, generator);
+    MazeGrid grid = this.find(key);
+
+    if (grid == null) {
+      grid = generator.make(width, height, seed);
+      this.put(key, grid);
+    }
+    return grid;
+  }
+
+  // the maze with the given key if it is in the cache, otherwise null
+  // EFFECT: counts a hit or a miss
+  synchronized MazeGrid find(MazeKey key) {
+    MazeGrid grid = this.mazes.get(key);
+
+    if (grid != null) {
+      this.hits++;
+    }
+    else {
+      this.misses++;
+    }
+    return grid;
+  }
+
+  // EFFECT: adds the given maze, then drops the least recently used mazes
+  // until the rest fit; a maze too big to fit on its own is not kept
+  synchronized void put(MazeKey key, MazeGrid grid) {
+    long size = MazeCache.bytesOf(grid);
+
+    if (size > this.maxBytes) {
+      return;
+    }
+
+    MazeGrid replaced = this.mazes.put(key, grid);
+    this.bytes = this.bytes + size;
+
+    // two threads that missed the same maze both build it, the second
+    // replacing the first
+    if (replaced != null) {
+      this.bytes = this.bytes - MazeCache.bytesOf(replaced);
+    }
+
+    Iterator<MazeGrid> oldest = this.mazes.values().iterator();
+    while (this.bytes > this.maxBytes) {
+      this.bytes = this.bytes - MazeCache.bytesOf(oldest.next());
+      oldest.remove();
+      this.evictions++;
+    }
+  }
+
+  // the number of bytes the given maze takes up, its walls and the objects
+  // that hold them
+  static long bytesOf(MazeGrid grid) {
+    return 8L * grid.walls.length + 64;
+  }
+
+  // the number of mazes in the cache
+  public synchronized int size() {
+    return this.mazes.size();
+  }
+
+  // the number of times a maze was found in the cache
+  public synchronized long hits() {
+    return this.hits;
+  }
+
+  // the number of times a maze had to be built
+  public synchronized long misses() {
+    return this.misses;
+  }
+
+  // the counts of the cache written out
+  public synchronized String toString() {
+    return "MazeCache[" + this.mazes.size() + " mazes, " + this.bytes + "/" + this.maxBytes
+        + " bytes, " + this.hits + " hits, " + this.misses + " misses, " + this.evictions
+        + " evictions]";
+  }
+}
@@ -0,0 +1,102 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+// Saves mazes to and opens them from a compact binary file: a 32 byte header
+// followed by the two wall bits of every cell packed into little endian longs,
+// exactly as a MazeGrid holds them. The header is
+//   bytes 0-3   the magic number, "MAZE"
+//   bytes 4-7   the version of the format
+//   bytes 8-11  the width
+//   bytes 12-15 the height
+//   bytes 16-23 the seed the maze was made from
+//   bytes 24-31 unused, so the walls start on a long
+// Both ways go through FileChannel.map, so nothing is read until it is used
+class MazeFile {
+  // the first four bytes of every maze file
+  static final int MAGIC = 0x4D415A45;
+  // the version of the format written by save
+  static final int VERSION = 1;
+  // the number of bytes before the walls start
+  static final int HEADER = 32;
+
+  // EFFECT: writes the given maze, made from the given seed, to the given file
+  static void save(MazeGrid grid, long seed, File file) throws IOException {
+    int words = MazeGrid.words(grid.width, grid.height);
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+          HEADER + 8L * words);
+
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(grid.width).putInt(grid.height).putLong(seed);
+      buffer.position(HEADER);
+
+      LongBuffer walls = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+
+      if (grid.walls != null) {
+        walls.put(grid.walls);
+      }
+      else {
+        walls.put(grid.copy().walls);
+      }
+      buffer.force();
+    }
+  }
+
+  // a maze read straight out of the given file, which can not be changed
+  static MappedMazeGrid open(File file) throws IOException {
+    return MazeFile.open(file, false);
+  }
+
+  // a maze read straight out of the given file, whose walls can be knocked
+  // down in place if the given flag is set
+  static MappedMazeGrid open(File file, boolean writable) throws IOException {
+    StandardOpenOption[] options;
+    FileChannel.MapMode mode;
+
+    if (writable) {
+      options = new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+      mode = FileChannel.MapMode.READ_WRITE;
+    }
+    else {
+      options = new StandardOpenOption[] {StandardOpenOption.READ};
+      mode = FileChannel.MapMode.READ_ONLY;
+    }
+
+    // the mapping stays valid once the channel is closed
+    try (FileChannel channel = FileChannel.open(file.toPath(), options)) {
+      if (channel.size() < HEADER) {
+        throw new IOException("The maze file is too short to hold a header");
+      }
+
+      MappedByteBuffer buffer = channel.map(mode, 0, channel.size());
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+      if (buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not a maze file");
+      }
+      if (buffer.getInt(4) != VERSION) {
+        throw new IOException("Unsupported maze file version " + buffer.getInt(4));
+      }
+
+      int width = buffer.getInt(8);
+      int height = buffer.getInt(12);
+
+      if (width < 1 || height < 1
+          || channel.size() < HEADER + 8L * MazeGrid.words(width, height)) {
+        throw new IOException("The maze file is cut short");
+      }
+
+      buffer.position(HEADER);
+      return new MappedMazeGrid(width, height, buffer.getLong(16),
+          buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+    }
+  }
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+import java.util.Random;
+
+// The maze engine is this grid and the generators and searches built on it,
+// each in a file of its own. Nothing in them needs javalib or a display, so
+// mazes can be built and solved on a headless server. MazeGame draws on top
+// of them
+
+// Represents a maze as two wall bits per cell, the wall to its east and the
+// wall to its south, packed 32 cells to a long; a cell's id is y * width + x
+class MazeGrid {
+  // the number of cells across
+  int width;
+  // the number of cells down
+  int height;
+  // bit 2 * id is the east wall of a cell, bit 2 * id + 1 is its south wall
+  long[] walls;
+
+  // starting constructor, every wall begins standing
+  MazeGrid(int width, int height) {
+    this(width, height, new long[MazeGrid.words(width, height)]);
+
+    Arrays.fill(this.walls, -1L);
+  }
+
+  // constructor over walls that have already been made, or over none when a
+  // subclass keeps its walls somewhere else
+  MazeGrid(int width, int height, long[] walls) {
+    this.width = width;
+    this.height = height;
+    this.walls = walls;
+  }
+
+  // the number of longs needed to hold the walls of a grid of the given size
+  static int words(int width, int height) {
+    return (int) ((2L * width * height + 63) / 64);
+  }
+
+  // a new grid with the same walls as this one
+  public MazeGrid copy() {
+    MazeGrid copy = new MazeGrid(this.width, this.height);
+
+    System.arraycopy(this.walls, 0, copy.walls, 0, this.walls.length);
+    return copy;
+  }
+
+  // the number of cells in the grid
+  public int size() {
+    return this.width * this.height;
+  }
+
+  // determines if the given wall bit is standing
+  boolean wallAt(long bit) {
+    return (this.walls[(int) (bit >>> 6)] & (1L << bit)) != 0;
+  }
+
+  // EFFECT: knocks down the given wall bit
+  void removeWallAt(long bit) {
+    this.walls[(int) (bit >>> 6)] &= ~(1L << bit);
+  }
+
+  // determines if there is a wall between the given cell and the one to its east
+  public boolean hasEastWall(int cell) {
+    return this.wallAt(2L * cell);
+  }
+
+  // determines if there is a wall between the given cell and the one below it
+  public boolean hasSouthWall(int cell) {
+    return this.wallAt(2L * cell + 1);
+  }
+
+  // the two wall bits of the given cell, its east wall in the low bit and its
+  // south wall above it
+  int wallBits(int cell) {
+    return (int) (this.walls[cell >>> 5] >>> (2 * cell)) & 3;
+  }
+
+  // EFFECT: opens a passage between the given cell and the one to its east
+  public void removeEastWall(int cell) {
+    this.removeWallAt(2L * cell);
+  }
+
+  // EFFECT: opens a passage between the given cell and the one below it
+  public void removeSouthWall(int cell) {
+    this.removeWallAt(2L * cell + 1);
+  }
+
+  // EFFECT: opens a passage between two cells that are next to each other
+  public void removeWallBetween(int a, int b) {
+    int first = Math.min(a, b);
+
+    // on a grid one cell wide the cell below is also one id further on
+    if (Math.abs(a - b) == this.width) {
+      this.removeSouthWall(first);
+    }
+    else {
+      this.removeEastWall(first);
+    }
+  }
+
+  // Finds the cell on the left or top side of the given edge, where an edge's id
+  // is the bit of the wall it crosses
+  public int edgeFrom(int edge) {
+    return edge >>> 1;
+  }
+
+  // Finds the cell on the right or bottom side of the given edge
+  public int edgeTo(int edge) {
+    if ((edge & 1) == 0) {
+      return (edge >>> 1) + 1;
+    }
+    else {
+      return (edge >>> 1) + this.width;
+    }
+  }
+
+  // Produces the ids of every wall between two cells of a grid of the given size,
+  // in a uniformly random order drawn from the given random (fisher-yates)
+  public static int[] shuffledEdges(int width, int height, Random rand) {
+    long start = System.nanoTime();
+    int[] order = new int[Math.max(0, (width - 1) * height + width * (height - 1))];
+    int count = 0;
+
+    for (int cell = 0; cell < width * height; cell++) {
+      if (cell % width < width - 1) {
+        order[count++] = 2 * cell;
+      }
+      if (cell + width < width * height) {
+        order[count++] = 2 * cell + 1;
+      }
+    }
+
+    for (int i = order.length - 1; i > 0; i--) {
+      int j = rand.nextInt(i + 1);
+      int temp = order[i];
+      order[i] = order[j];
+      order[j] = temp;
+    }
+
+    MazeMetrics.GLOBAL.time(Phase.ORDER_EDGES, start);
+    return order;
+  }
+
+  // EFFECT: fills the given array with the ids of the cells that can be reached
+  // in one step from the given cell, in the order right, left, up, down
+  // returns how many were found
+  public int neighbors(int cell, int[] out) {
+    int x = cell % this.width;
+    int count = 0;
+
+    if (x < this.width - 1 && !this.hasEastWall(cell)) {
+      out[count++] = cell + 1;
+    }
+    if (x > 0 && !this.hasEastWall(cell - 1)) {
+      out[count++] = cell - 1;
+    }
+    if (cell >= this.width && !this.hasSouthWall(cell - this.width)) {
+      out[count++] = cell - this.width;
+    }
+    if (cell + this.width < this.size() && !this.hasSouthWall(cell)) {
+      out[count++] = cell + this.width;
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,37 @@
+// represents everything a generated maze depends on
+class MazeKey {
+  // the size of the maze
+  int width;
+  int height;
+  // the seed it was made from
+  long seed;
+  // the way it was made
+  Generator generator;
+
+  // starting constructor for a key
+  MazeKey(int width, int height, long seed, Generator generator) {
+    this.width = width;
+    this.height = height;
+    this.seed = seed;
+    this.generator = generator;
+  }
+
+  @Override
+  // determines if this key is for the same maze as the given one
+  public boolean equals(Object other) {
+    if (!(other instanceof MazeKey)) {
+      return false;
+    }
+
+    MazeKey key = (MazeKey) other;
+
+    return this.width == key.width && this.height == key.height && this.seed == key.seed
+        && this.generator == key.generator;
+  }
+
+  // a hash code made from every part of the key
+  public int hashCode() {
+    return ((this.width * 31 + this.height) * 31 + Long.hashCode(this.seed)) * 31
+        + this.generator.hashCode();
+  }
+}
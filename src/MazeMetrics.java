@@ -0,0 +1,196 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+// Keeps the counts and times of everything the maze does, cheap enough to
+// record on every maze, tick and frame: each number is a LongAdder, so threads
+// recording at once never wait on each other, and nothing is added up until
+// it is read. GLOBAL is the one the engine and the game record into, and it can
+// be watched through JMX once it is registered
+class MazeMetrics implements MazeMetricsMBean {
+  // the metrics everything records into
+  static final MazeMetrics GLOBAL = new MazeMetrics();
+  // the name the metrics are registered under in JMX
+  static final String NAME = "maze:type=Metrics";
+
+  // the times of each phase
+  EnumMap<Phase, LatencyHistogram> phases;
+  // the finds, successful unions and links followed by finds while making
+  // mazes
+  LongAdder unionFinds;
+  LongAdder unionLinks;
+  LongAdder findHops;
+  // the cells expanded by every search
+  LongAdder expansions;
+  // the size of the frontier when it was last sampled, and the largest seen
+  volatile long frontier;
+  LongAccumulator maxFrontier;
+
+  // starting constructor with nothing recorded yet
+  MazeMetrics() {
+    this.phases = new EnumMap<Phase, LatencyHistogram>(Phase.class);
+    for (Phase phase : Phase.values()) {
+      this.phases.put(phase, new LatencyHistogram());
+    }
+    this.unionFinds = new LongAdder();
+    this.unionLinks = new LongAdder();
+    this.findHops = new LongAdder();
+    this.expansions = new LongAdder();
+    this.maxFrontier = new LongAccumulator(Math::max, 0);
+  }
+
+  // EFFECT: registers the global metrics with the platform's MBean server,
+  // doing nothing if they already are
+  static void register() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    try {
+      server.registerMBean(new StandardMBean(GLOBAL, MazeMetricsMBean.class),
+          new ObjectName(NAME));
+    }
+    catch (InstanceAlreadyExistsException e) {
+      // registered by an earlier game or runner in this JVM
+    }
+    catch (JMException e) {
+      throw new IllegalStateException("Could not register the maze metrics", e);
+    }
+  }
+
+  // EFFECT: records that the given phase started at the given System.nanoTime
+  // and has just finished
+  void time(Phase phase, long start) {
+    this.phases.get(phase).record(System.nanoTime() - start);
+  }
+
+  // the times of the given phase
+  LatencyHistogram phase(Phase phase) {
+    return this.phases.get(phase);
+  }
+
+  // EFFECT: records the work a union-find did while making one maze
+  void unionFind(long finds, long links, long hops) {
+    this.unionFinds.add(finds);
+    this.unionLinks.add(links);
+    this.findHops.add(hops);
+  }
+
+  // EFFECT: records a search expanding the given number of cells and being
+  // left with a frontier of the given size
+  void searched(long expanded, int frontier) {
+    this.expansions.add(expanded);
+    this.frontier = frontier;
+    this.maxFrontier.accumulate(frontier);
+  }
+
+  // the number of mazes made by kruskal's algorithm
+  public long getMazesMade() {
+    return this.phase(Phase.MAKE_MAZE).count();
+  }
+
+  // the mean time of shuffling the edges, in milliseconds
+  public double getOrderEdgesMillis() {
+    return this.phase(Phase.ORDER_EDGES).mean() / 1e6;
+  }
+
+  // the mean time of kruskal's algorithm, in milliseconds
+  public double getMakeMazeMillis() {
+    return this.phase(Phase.MAKE_MAZE).mean() / 1e6;
+  }
+
+  // the mean time of building the path index, in milliseconds
+  public double getPathIndexMillis() {
+    return this.phase(Phase.PATH_INDEX).mean() / 1e6;
+  }
+
+  // the number of frames drawn
+  public long getFrames() {
+    return this.phase(Phase.RENDER).count();
+  }
+
+  // the mean time of drawing a frame, in milliseconds
+  public double getRenderMillis() {
+    return this.phase(Phase.RENDER).mean() / 1e6;
+  }
+
+  // a time in milliseconds that 99 frames in 100 were drawn in
+  public double getRenderP99Millis() {
+    return this.phase(Phase.RENDER).percentile(0.99) / 1e6;
+  }
+
+  // the number of finds while making mazes
+  public long getUnionFinds() {
+    return this.unionFinds.sum();
+  }
+
+  // the number of unions that joined two sets while making mazes
+  public long getUnionLinks() {
+    return this.unionLinks.sum();
+  }
+
+  // the mean number of links a find followed to reach its root
+  public double getMeanFindPathLength() {
+    long finds = this.unionFinds.sum();
+    return finds == 0 ? 0 : (double) this.findHops.sum() / finds;
+  }
+
+  // the number of cells the searches have expanded
+  public long getExpansions() {
+    return this.expansions.sum();
+  }
+
+  // the size of the frontier when it was last sampled
+  public long getFrontier() {
+    return this.frontier;
+  }
+
+  // the largest frontier seen
+  public long getMaxFrontier() {
+    return this.maxFrontier.get();
+  }
+
+  // one line for each phase with its count, mean, percentiles and worst time
+  public String[] getPhases() {
+    String[] lines = new String[Phase.values().length];
+
+    for (Phase phase : Phase.values()) {
+      lines[phase.ordinal()] = phase.label + ": " + this.phase(phase);
+    }
+    return lines;
+  }
+
+  // the lines drawn over the game when its metrics are shown
+  List<String> overlay() {
+    ArrayList<String> lines = new ArrayList<String>();
+
+    for (Phase phase : Phase.values()) {
+      lines.add(String.format("%s %.2f ms", phase.label, this.phase(phase).mean() / 1e6));
+    }
+    lines.add(String.format("frame p99 < %.2f ms", this.getRenderP99Millis()));
+    lines.add(String.format("union-find %d finds, %.2f links/find", this.getUnionFinds(),
+        this.getMeanFindPathLength()));
+    lines.add("expanded " + this.getExpansions() + ", frontier " + this.getFrontier() + " (max "
+        + this.getMaxFrontier() + ")");
+    return lines;
+  }
+
+  // EFFECT: forgets everything recorded so far
+  public void reset() {
+    for (LatencyHistogram histogram : this.phases.values()) {
+      histogram.reset();
+    }
+    this.unionFinds.reset();
+    this.unionLinks.reset();
+    this.findHops.reset();
+    this.expansions.reset();
+    this.frontier = 0;
+    this.maxFrontier.reset();
+  }
+}
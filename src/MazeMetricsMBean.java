@@ -0,0 +1,45 @@
+// The numbers the maze keeps about itself, as JMX shows them under
+// maze:type=Metrics, so a running game or runner can be watched from jconsole
+// without a profiler. JMX only reads the getters of a public interface
+public interface MazeMetricsMBean {
+  // the number of mazes made by kruskal's algorithm
+  long getMazesMade();
+
+  // the mean time of each phase of making a maze, in milliseconds
+  double getOrderEdgesMillis();
+
+  double getMakeMazeMillis();
+
+  double getPathIndexMillis();
+
+  // the number of frames drawn, and their mean and 99th percentile time in
+  // milliseconds
+  long getFrames();
+
+  double getRenderMillis();
+
+  double getRenderP99Millis();
+
+  // the number of finds and of successful unions while making mazes
+  long getUnionFinds();
+
+  long getUnionLinks();
+
+  // the mean number of links a find followed to reach its root
+  double getMeanFindPathLength();
+
+  // the number of cells the searches have expanded
+  long getExpansions();
+
+  // the size of the last search's frontier when it was last sampled, and the
+  // largest frontier seen
+  long getFrontier();
+
+  long getMaxFrontier();
+
+  // one line for each phase with its count, mean, percentiles and worst time
+  String[] getPhases();
+
+  // EFFECT: forgets everything recorded so far
+  void reset();
+}
@@ -0,0 +1,221 @@
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import javax.imageio.ImageIO;
+
+// Paints a maze straight into the pixels of an image, building each row of
+// pixels with bulk fills and copying it down, so even very large mazes can be
+// drawn, or saved as a png without a display
+class MazeRaster {
+  // the colors of the walls and of each kind of cell, the same as a Cell uses
+  static final int WALL = Color.black.brighter().getRGB();
+  static final int FLOOR = Color.GRAY.brighter().getRGB();
+  static final int START = Color.GREEN.getRGB();
+  static final int END = Color.MAGENTA.getRGB();
+  static final int SEEN = Color.CYAN.darker().darker().getRGB();
+  static final int PATH = Color.BLUE.getRGB();
+  // the same colors made once, so copying pixels onto a board of Colors never
+  // has to make a new one
+  static final Color[] PALETTE = {new Color(WALL), new Color(FLOOR), new Color(START),
+      new Color(END), new Color(SEEN), new Color(PATH)};
+
+  // the maze being drawn
+  MazeGrid grid;
+  // the number of pixels across the inside of a cell
+  int cell;
+  // the number of pixels across a wall
+  int wall;
+  // the number of pixels from the start of one cell to the start of the next
+  int pitch;
+  // the size of the image in pixels
+  int width;
+  int height;
+  // the image being drawn
+  BufferedImage image;
+  // the pixels of the image, a row at a time
+  int[] pixels;
+
+  // starting constructor, with cells and walls of the given sizes in pixels
+  MazeRaster(MazeGrid grid, int cell, int wall) {
+    long width = (long) grid.width * (cell + wall) + wall;
+    long height = (long) grid.height * (cell + wall) + wall;
+
+    if (width * height > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("The maze is too big to draw at this size");
+    }
+
+    this.grid = grid;
+    this.cell = cell;
+    this.wall = wall;
+    this.pitch = cell + wall;
+    this.width = (int) width;
+    this.height = (int) height;
+    this.image = new BufferedImage(this.width, this.height, BufferedImage.TYPE_INT_RGB);
+    this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+  }
+
+  // the color of the given cell, drawn the same way as Cell.changeColor
+  int colorOf(int id, BitSet visited, BitSet path) {
+    if (path.get(id)) {
+      return PATH;
+    }
+    else if (visited.get(id)) {
+      return SEEN;
+    }
+    else if (id == 0) {
+      return START;
+    }
+    else if (id == this.grid.size() - 1) {
+      return END;
+    }
+    else {
+      return FLOOR;
+    }
+  }
+
+  // the Color of the given pixel, taken from the palette when it is one of
+  // the colors a raster paints with
+  static Color toColor(int rgb) {
+    for (Color color : PALETTE) {
+      if (color.getRGB() == rgb) {
+        return color;
+      }
+    }
+    return new Color(rgb);
+  }
+
+  // the color of an open passage between cells of the given colors, which
+  // joins them when they match so a path is drawn as one line
+  int passage(int from, int to) {
+    return from == to ? from : FLOOR;
+  }
+
+  // EFFECT: draws the whole maze, with the given cells seen and on the path
+  void render(BitSet visited, BitSet path) {
+    // the colors of this row of cells and the one below it, with room for
+    // one more so the last cell in a row can look east of it
+    int[] colors = new int[this.grid.width + 1];
+    int[] next = new int[this.grid.width + 1];
+
+    this.colorRow(0, visited, path, colors);
+    this.fill(0, 0, this.width, this.wall, WALL);
+
+    for (int y = 0; y < this.grid.height; y++) {
+      if (y < this.grid.height - 1) {
+        this.colorRow(y + 1, visited, path, next);
+      }
+      this.drawRow(y, colors, next);
+
+      int[] swap = colors;
+      colors = next;
+      next = swap;
+    }
+  }
+
+  // EFFECT: draws the given row of cells with the given colors, and the walls
+  // below it, given the colors of the next row down
+  void drawRow(int y, int[] colors, int[] next) {
+    int[] pixels = this.pixels;
+    int w = this.grid.width;
+    int cell = this.cell;
+    int wall = this.wall;
+    int row = (wall + y * this.pitch) * this.width;
+    int below = row + cell * this.width;
+
+    // builds the first row of pixels through the cells and the first row of
+    // pixels through the walls below them, then copies each down
+    int at = row;
+    int under = below;
+
+    for (int i = 0; i < wall; i++) {
+      pixels[at++] = WALL;
+      pixels[under++] = WALL;
+    }
+    for (int x = 0; x < w; x++) {
+      int id = y * w + x;
+      int color = colors[x];
+      // the walls of a random maze are too random to branch on well, so each
+      // side is picked with a mask that is all ones when its wall stands, the
+      // walls on the edges of the grid never coming down
+      int walls = this.grid.wallBits(id);
+      int eastMask = -(walls & 1);
+      int southMask = -(walls >>> 1);
+      int east = (WALL & eastMask) | (this.passage(color, colors[x + 1]) & ~eastMask);
+      int south = (WALL & southMask) | (this.passage(color, next[x]) & ~southMask);
+
+      for (int i = 0; i < cell; i++) {
+        pixels[at++] = color;
+        pixels[under++] = south;
+      }
+      for (int i = 0; i < wall; i++) {
+        pixels[at++] = east;
+        pixels[under++] = WALL;
+      }
+    }
+    this.copyDown(row, cell);
+    this.copyDown(below, wall);
+  }
+
+  // EFFECT: fills the given array with the colors of the given row of cells
+  void colorRow(int y, BitSet visited, BitSet path, int[] colors) {
+    int w = this.grid.width;
+
+    for (int x = 0; x < w; x++) {
+      colors[x] = this.colorOf(y * w + x, visited, path);
+    }
+  }
+
+  // EFFECT: copies the row of pixels starting at the given index into the
+  // rows below it until the given number of rows match
+  void copyDown(int row, int rows) {
+    for (int i = 1; i < rows; i++) {
+      System.arraycopy(this.pixels, row, this.pixels, row + i * this.width, this.width);
+    }
+  }
+
+  // EFFECT: draws the given cell again along with the passages out of it,
+  // with the given cells seen and on the path
+  void paintCell(int id, BitSet visited, BitSet path) {
+    int w = this.grid.width;
+    int x = this.wall + id % w * this.pitch;
+    int y = this.wall + id / w * this.pitch;
+    int color = this.colorOf(id, visited, path);
+
+    this.fill(x, y, this.cell, this.cell, color);
+
+    if (id % w > 0 && !this.grid.hasEastWall(id - 1)) {
+      this.fill(x - this.wall, y, this.wall, this.cell,
+          this.passage(color, this.colorOf(id - 1, visited, path)));
+    }
+    if (id % w < w - 1 && !this.grid.hasEastWall(id)) {
+      this.fill(x + this.cell, y, this.wall, this.cell,
+          this.passage(color, this.colorOf(id + 1, visited, path)));
+    }
+    if (id >= w && !this.grid.hasSouthWall(id - w)) {
+      this.fill(x, y - this.wall, this.cell, this.wall,
+          this.passage(color, this.colorOf(id - w, visited, path)));
+    }
+    if (id < this.grid.size() - w && !this.grid.hasSouthWall(id)) {
+      this.fill(x, y + this.cell, this.cell, this.wall,
+          this.passage(color, this.colorOf(id + w, visited, path)));
+    }
+  }
+
+  // EFFECT: fills the given rectangle of pixels with the given color
+  void fill(int x, int y, int w, int h, int color) {
+    for (int row = y; row < y + h; row++) {
+      int at = row * this.width + x;
+
+      Arrays.fill(this.pixels, at, at + w, color);
+    }
+  }
+
+  // EFFECT: saves the image as a png to the given file, which needs no display
+  void write(File file) throws IOException {
+    ImageIO.write(this.image, "png", file);
+  }
+}
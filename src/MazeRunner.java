@@ -0,0 +1,126 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Builds and solves mazes from the command line with no display, printing how
+// long each maze took to generate and to solve with each search:
+//
+//   java MazeRunner <width> <height> <count> <seed> [algorithm ...]
+//
+// maze i is made from seed + i, so a run can be repeated exactly, and the
+// searches default to BFS and DFS
+class MazeRunner {
+  // the size of each maze
+  int width;
+  int height;
+  // the number of mazes to make
+  int count;
+  // the seed of the first maze
+  long seed;
+  // the searches run on every maze
+  List<Algorithm> algorithms;
+  // where the timings are printed
+  PrintStream out;
+
+  // starting constructor for a runner
+  MazeRunner(int width, int height, int count, long seed, List<Algorithm> algorithms,
+      PrintStream out) {
+    this.width = width;
+    this.height = height;
+    this.count = count;
+    this.seed = seed;
+    this.algorithms = algorithms;
+    this.out = out;
+  }
+
+  // reads the arguments and runs the mazes they ask for
+  public static void main(String[] args) {
+    try {
+      MazeMetrics.register();
+      MazeRunner.parse(args, System.out).run();
+    }
+    catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println("usage: java MazeRunner <width> <height> <count> <seed> [algorithm ...]");
+      System.exit(1);
+    }
+  }
+
+  // a runner for the given command line arguments that prints to the given stream
+  static MazeRunner parse(String[] args, PrintStream out) {
+    if (args.length < 4) {
+      throw new IllegalArgumentException("Expected at least 4 arguments but got " + args.length);
+    }
+
+    ArrayList<Algorithm> algorithms = new ArrayList<Algorithm>();
+
+    for (int i = 4; i < args.length; i++) {
+      algorithms.add(Algorithm.valueOf(args[i].toUpperCase()));
+    }
+    if (algorithms.isEmpty()) {
+      algorithms.add(Algorithm.BFS);
+      algorithms.add(Algorithm.DFS);
+    }
+
+    int width = Integer.parseInt(args[0]);
+    int height = Integer.parseInt(args[1]);
+    int count = Integer.parseInt(args[2]);
+
+    if (width < 1 || height < 1) {
+      throw new IllegalArgumentException("The width and height must be positive");
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("The number of mazes can not be negative");
+    }
+    return new MazeRunner(width, height, count, Long.parseLong(args[3]), algorithms, out);
+  }
+
+  // EFFECT: makes and solves every maze, printing a line for each and then
+  // the totals
+  // returns the grid of the last maze, or null if there were none
+  MazeGrid run() {
+    MazeGrid grid = null;
+    long generating = 0;
+    long solving = 0;
+
+    for (int i = 0; i < this.count; i++) {
+      long start = System.nanoTime();
+      int[] edgeOrder = MazeGrid.shuffledEdges(this.width, this.height,
+          new Random(this.seed + i));
+      grid = KruskalGenerator.generate(this.width, this.height, edgeOrder);
+      long generated = System.nanoTime() - start;
+
+      StringBuilder line = new StringBuilder();
+      line.append("maze ").append(i).append(" (seed ").append(this.seed + i)
+          .append("): generated in ").append(MazeRunner.millis(generated));
+
+      for (Algorithm algorithm : this.algorithms) {
+        ISolver search = algorithm.make(grid, 0, grid.size() - 1);
+        long begin = System.nanoTime();
+
+        while (!search.search()) {
+          // a maze is a spanning tree, so every search reaches the target
+        }
+
+        long solved = System.nanoTime() - begin;
+        solving = solving + solved;
+        line.append(", ").append(algorithm).append(" ").append(MazeRunner.millis(solved))
+            .append(" (").append(search.expansions()).append(" expanded)");
+      }
+
+      generating = generating + generated;
+      this.out.println(line);
+    }
+
+    this.out.println("total for " + this.count + " mazes of " + this.width + "x" + this.height
+        + ": generated in " + MazeRunner.millis(generating) + ", solved in "
+        + MazeRunner.millis(solving));
+    return grid;
+  }
+
+  // the given number of nanoseconds written as milliseconds
+  static String millis(long nanos) {
+    return String.format("%.2f ms", nanos / 1e6);
+  }
+}
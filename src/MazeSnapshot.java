@@ -0,0 +1,44 @@
+// represents a copy of a finished maze that nothing can change, so any
+// number of threads can search it at once
+final class MazeSnapshot {
+  // the walls of the maze, never handed out where they could be changed
+  private final MazeGrid grid;
+  // the number of cells across
+  final int width;
+  // the number of cells down
+  final int height;
+
+  // starting constructor, copies the walls of the given grid
+  MazeSnapshot(MazeGrid grid) {
+    this.grid = grid.copy();
+    this.width = grid.width;
+    this.height = grid.height;
+  }
+
+  // the number of cells in the maze
+  public int size() {
+    return this.grid.size();
+  }
+
+  // determines if there is a wall between the given cell and the one to its east
+  public boolean hasEastWall(int cell) {
+    return this.grid.hasEastWall(cell);
+  }
+
+  // determines if there is a wall between the given cell and the one below it
+  public boolean hasSouthWall(int cell) {
+    return this.grid.hasSouthWall(cell);
+  }
+
+  // a new search of the given kind over this maze between the given cells
+  ISolver solver(Algorithm algorithm, int firstCell, int target) {
+    return algorithm.make(this.grid, firstCell, target);
+  }
+
+  // EFFECT: fills the given array with the cells one step from the given cell
+  // returns how many were found
+  int neighbors(int cell, int[] out) {
+    return this.grid.neighbors(cell, out);
+  }
+
+}
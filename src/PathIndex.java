@@ -0,0 +1,111 @@
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+
+// represents the tree of a finished maze rooted at the top left cell, built
+// once so the path between any two cells can be found without searching.
+// Besides its parent, each cell keeps a jump pointer to an ancestor further
+// up, chosen from its depth alone so that any ancestor is reached in
+// O(log n) hops, like binary lifting but with three ints per cell
+class PathIndex {
+  // represents the maze the tree was read from
+  MazeGrid grid;
+  // the parent of each cell, the root is its own parent
+  int[] parent;
+  // the ancestor each cell can jump straight to
+  int[] jump;
+  // the number of steps from the root to each cell
+  int[] depth;
+
+  // starting constructor, walks the maze breadth first from the top left so
+  // every parent is placed before its children
+  PathIndex(MazeGrid grid) {
+    long start = System.nanoTime();
+    this.grid = grid;
+    this.parent = new int[grid.size()];
+    this.jump = new int[grid.size()];
+    this.depth = new int[grid.size()];
+
+    int[] worklist = new int[grid.size()];
+    int[] neighbors = new int[4];
+    BitSet seen = new BitSet(grid.size());
+    int head = 0;
+    int tail = 1;
+
+    seen.set(0);
+    while (head < tail) {
+      int next = worklist[head++];
+      int found = grid.neighbors(next, neighbors);
+
+      for (int i = 0; i < found; i++) {
+        if (!seen.get(neighbors[i])) {
+          seen.set(neighbors[i]);
+          this.attach(neighbors[i], next);
+          worklist[tail++] = neighbors[i];
+        }
+      }
+    }
+
+    MazeMetrics.GLOBAL.time(Phase.PATH_INDEX, start);
+  }
+
+  // EFFECT: hangs the given cell under the given parent, jumping two jumps up
+  // when the parent's jump and its jump's jump cover the same distance
+  void attach(int cell, int parent) {
+    int up = this.jump[parent];
+
+    this.parent[cell] = parent;
+    this.depth[cell] = this.depth[parent] + 1;
+
+    if (this.depth[parent] - this.depth[up] == this.depth[up] - this.depth[this.jump[up]]) {
+      this.jump[cell] = this.jump[up];
+    }
+    else {
+      this.jump[cell] = parent;
+    }
+  }
+
+  // Finds the ancestor of the given cell at the given depth
+  public int ancestorAt(int cell, int depth) {
+    while (this.depth[cell] > depth) {
+      if (this.depth[this.jump[cell]] >= depth) {
+        cell = this.jump[cell];
+      }
+      else {
+        cell = this.parent[cell];
+      }
+    }
+    return cell;
+  }
+
+  // Finds the lowest cell that is an ancestor of both given cells, which is
+  // where the path between them turns around
+  public int lowestCommonAncestor(int a, int b) {
+    a = this.ancestorAt(a, this.depth[b]);
+    b = this.ancestorAt(b, this.depth[a]);
+
+    // cells at the same depth have jumps of the same length
+    while (a != b) {
+      if (this.jump[a] != this.jump[b]) {
+        a = this.jump[a];
+        b = this.jump[b];
+      }
+      else {
+        a = this.parent[a];
+        b = this.parent[b];
+      }
+    }
+    return a;
+  }
+
+  // the number of steps on the path between the two given cells
+  public int distance(int a, int b) {
+    return this.depth[a] + this.depth[b] - 2 * this.depth[this.lowestCommonAncestor(a, b)];
+  }
+
+  // the cells on the path from the first given cell to the second, both
+  // included, found one at a time as they are asked for
+  public PrimitiveIterator.OfInt path(int from, int to) {
+    return new PathIterator(this, from, to);
+  }
+
+}
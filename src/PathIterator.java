@@ -0,0 +1,48 @@
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// represents the cells on the path between two cells of a PathIndex, walking
+// up from the first cell to where the path turns and then down to the last
+class PathIterator implements PrimitiveIterator.OfInt {
+  // the index the path is read from
+  PathIndex index;
+  // the cell the path goes to
+  int to;
+  // the cell where the path stops going up and starts going down
+  int turn;
+  // the next cell on the way up, or -1 once the turn has been passed
+  int climbing;
+  // the depth of the next cell on the way down
+  int nextDepth;
+
+  // starting constructor for the path between the given cells
+  PathIterator(PathIndex index, int from, int to) {
+    this.index = index;
+    this.to = to;
+    this.turn = index.lowestCommonAncestor(from, to);
+    this.climbing = from;
+    this.nextDepth = index.depth[this.turn] + 1;
+  }
+
+  // determines if there are cells left on the path
+  public boolean hasNext() {
+    return this.climbing >= 0 || this.nextDepth <= this.index.depth[this.to];
+  }
+
+  // returns the next cell on the path
+  public int nextInt() {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException("The path has no more cells");
+    }
+
+    if (this.climbing >= 0) {
+      int cell = this.climbing;
+      this.climbing = cell == this.turn ? -1 : this.index.parent[cell];
+      return cell;
+    }
+    else {
+      return this.index.ancestorAt(this.to, this.nextDepth++);
+    }
+  }
+
+}
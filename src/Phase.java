@@ -0,0 +1,20 @@
+// The timed parts of making, solving and drawing a maze
+enum Phase {
+  // listing every edge and shuffling them into the order kruskal's algorithm
+  // tries them, which used to be listOfEdges and sortEdges
+  ORDER_EDGES("orderEdges"),
+  // kruskal's algorithm itself
+  MAKE_MAZE("makeMaze"),
+  // building the index that answers the path between any two cells
+  PATH_INDEX("pathIndex"),
+  // drawing one frame of the game
+  RENDER("render");
+
+  // the name the phase is shown by
+  String label;
+
+  // starting constructor for a phase
+  Phase(String label) {
+    this.label = label;
+  }
+}
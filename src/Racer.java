@@ -0,0 +1,103 @@
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// represents one search in a race, run on its own thread: the cells it has
+// seen and how far it has got are written only by that thread and can be read
+// by any other while it runs
+class Racer implements Runnable, IVisitListener {
+  // how many expansions go by between publishing the count
+  static final int PUBLISH_EVERY = 1024;
+
+  // the kind of search
+  Algorithm algorithm;
+  // the search, only ever used by the racer's thread once it has started
+  ISolver search;
+  // one bit per cell, set once the search has seen the cell
+  AtomicLongArray seen;
+  // the number of cells expanded, brought up to date every PUBLISH_EVERY
+  // expansions and once more at the end
+  volatile int expansions;
+  // when the search started and finished by System.nanoTime, 0 until then;
+  // finishedAt is written last, so once it is set the path can be read
+  volatile long startedAt;
+  volatile long finishedAt;
+  // determines if the search found the target
+  boolean found;
+  // one bit per cell, set for the cells of the path once the search finishes
+  BitSet path;
+  // the thread the search runs on, null until the race starts
+  Thread thread;
+
+  // starting constructor for the given search over a maze of the given size
+  Racer(Algorithm algorithm, ISolver search, int size) {
+    this.algorithm = algorithm;
+    this.search = search;
+    this.seen = new AtomicLongArray((size + 63) / 64);
+    this.path = new BitSet();
+  }
+
+  // EFFECT: runs the search until it finds the target, runs out of cells or
+  // its thread is stopped
+  public void run() {
+    this.startedAt = System.nanoTime();
+    this.search.listen(this);
+
+    // a search that stops expanding without finding the target has run out
+    boolean found = false;
+    int expanded = -1;
+    while (!found && this.search.expansions() != expanded) {
+      expanded = this.search.expansions();
+      found = this.search.search();
+
+      if (expanded % PUBLISH_EVERY == 0) {
+        this.expansions = expanded;
+        if (Thread.currentThread().isInterrupted()) {
+          break;
+        }
+      }
+    }
+
+    this.found = found;
+    if (found) {
+      this.path = (BitSet) this.search.pathCells().clone();
+    }
+    this.expansions = this.search.expansions();
+    MazeMetrics.GLOBAL.searched(this.expansions, this.search.frontier());
+    this.finishedAt = System.nanoTime();
+  }
+
+  // EFFECT: records that the search has seen the given cell
+  public void visited(int cell) {
+    // only the racer's thread writes, so reading the word first loses nothing,
+    // and a release store is enough for the lanes that read it with get
+    this.seen.setRelease(cell >>> 6, this.seen.getPlain(cell >>> 6) | 1L << cell);
+  }
+
+  // determines if the search has finished
+  boolean finished() {
+    return this.finishedAt != 0;
+  }
+
+  // the time the search has run for in nanoseconds, up to now while it runs
+  long elapsed() {
+    long started = this.startedAt;
+    long finished = this.finishedAt;
+
+    if (started == 0) {
+      return 0;
+    }
+    return (finished == 0 ? System.nanoTime() : finished) - started;
+  }
+
+  // the number of cells expanded each second so far
+  double rate() {
+    long elapsed = this.elapsed();
+    return elapsed == 0 ? 0 : this.expansions / (elapsed / 1e9);
+  }
+
+  // how the racer has done so far, as one line
+  public String toString() {
+    return String.format("%s %d expanded in %.2f ms (%.2f M/s)", this.algorithm, this.expansions,
+        this.elapsed() / 1e6, this.rate() / 1e6);
+  }
+}
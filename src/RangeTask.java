@@ -0,0 +1,37 @@
+import java.util.concurrent.RecursiveAction;
+
+// Splits a range of indices in half until the pieces are no bigger than the
+// grain, then runs the body on each piece in the fork join pool
+class RangeTask extends RecursiveAction {
+  // RecursiveAction is Serializable, though a task is never written out
+  private static final long serialVersionUID = 1L;
+
+  // the work to do on each piece
+  IRangeBody body;
+  // the first index of the range
+  int start;
+  // one past the last index of the range
+  int end;
+  // the largest piece that is not split any further
+  int grain;
+
+  // starting constructor for the task
+  RangeTask(IRangeBody body, int start, int end, int grain) {
+    this.body = body;
+    this.start = start;
+    this.end = end;
+    this.grain = grain;
+  }
+
+  // EFFECT: runs the body on this range, splitting it first if it is big
+  protected void compute() {
+    if (this.end - this.start <= this.grain) {
+      this.body.apply(this.start, this.end);
+    }
+    else {
+      int middle = (this.start + this.end) >>> 1;
+      invokeAll(new RangeTask(this.body, this.start, middle, this.grain),
+          new RangeTask(this.body, middle, this.end, this.grain));
+    }
+  }
+}
@@ -0,0 +1,46 @@
+import java.util.Random;
+
+// Times one kind of search from the top left to the bottom right of a maze,
+// reusing the same search so only the search loop is timed
+class SearchBenchmark implements IBenchmark {
+  // the kind of search being timed
+  Algorithm algorithm;
+  // the search, made once by setUp
+  ISolver search;
+  // the cell the search ends at
+  int target;
+
+  // starting constructor for timing the given kind of search
+  SearchBenchmark(Algorithm algorithm) {
+    this.algorithm = algorithm;
+  }
+
+  // the name the benchmark is printed and chosen by
+  public String name() {
+    return "search" + this.algorithm;
+  }
+
+  // EFFECT: makes the maze and the search
+  public void setUp(int size, long seed) {
+    MazeGrid grid = KruskalGenerator.generate(size, size,
+        MazeGrid.shuffledEdges(size, size, new Random(seed)));
+
+    this.target = grid.size() - 1;
+    this.search = this.algorithm.make(grid, 0, this.target);
+  }
+
+  // EFFECT: runs the search from the start until it reaches the target
+  public int run() {
+    this.search.reset(0, this.target);
+
+    while (!this.search.search()) {
+      // a maze is a spanning tree, so the search always reaches the target
+    }
+    return this.search.expansions();
+  }
+
+  // EFFECT: lets go of the search and its maze
+  public void tearDown() {
+    this.search = null;
+  }
+}
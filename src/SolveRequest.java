@@ -0,0 +1,16 @@
+// represents one path asked of a BatchSolver
+class SolveRequest {
+  // the cell the path starts at
+  int firstCell;
+  // the cell the path ends at
+  int target;
+  // the search used to find the path
+  Algorithm algorithm;
+
+  // starting constructor for a request
+  SolveRequest(int firstCell, int target, Algorithm algorithm) {
+    this.firstCell = firstCell;
+    this.target = target;
+    this.algorithm = algorithm;
+  }
+}
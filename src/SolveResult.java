@@ -0,0 +1,20 @@
+// represents the answer to a SolveRequest
+class SolveResult {
+  // the request this answers
+  SolveRequest request;
+  // the cells of the path in order from the first cell to the target, empty
+  // if there is no path
+  int[] path;
+  // the number of cells the search expanded
+  int expansions;
+  // how long the search took in nanoseconds
+  long nanos;
+
+  // starting constructor for a result
+  SolveResult(SolveRequest request, int[] path, int expansions, long nanos) {
+    this.request = request;
+    this.path = path;
+    this.expansions = expansions;
+    this.nanos = nanos;
+  }
+}
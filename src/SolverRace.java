@@ -0,0 +1,91 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Races searches against each other over one MazeSnapshot, each on a thread
+// of its own. Every search has its own arrays, so none can disturb another,
+// and each racer keeps the cells its search has seen where other threads can
+// read them while the race is on
+class SolverRace {
+  // the searches in the race, in the order they were given
+  List<Racer> racers;
+
+  // starting constructor for a race between searches of the given kinds from
+  // the given cell to the given target, not started yet
+  SolverRace(MazeSnapshot maze, List<Algorithm> algorithms, int firstCell, int target) {
+    this.racers = new ArrayList<Racer>();
+
+    for (Algorithm algorithm : algorithms) {
+      this.racers.add(new Racer(algorithm, maze.solver(algorithm, firstCell, target),
+          maze.size()));
+    }
+  }
+
+  // EFFECT: starts every racer on a thread of its own
+  void start() {
+    for (Racer racer : this.racers) {
+      racer.thread = new Thread(racer, "race-" + racer.algorithm);
+      racer.thread.setDaemon(true);
+    }
+    for (Racer racer : this.racers) {
+      racer.thread.start();
+    }
+  }
+
+  // EFFECT: waits for every racer to finish
+  void join() {
+    try {
+      for (Racer racer : this.racers) {
+        racer.thread.join();
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the race", e);
+    }
+  }
+
+  // EFFECT: stops every racer that is still running
+  void stop() {
+    for (Racer racer : this.racers) {
+      if (racer.thread != null) {
+        racer.thread.interrupt();
+      }
+    }
+  }
+
+  // determines if every racer has finished
+  boolean finished() {
+    for (Racer racer : this.racers) {
+      if (!racer.finished()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // the racer that found the target in the least time so far, or null if
+  // none has
+  Racer winner() {
+    Racer winner = null;
+
+    for (Racer racer : this.racers) {
+      if (racer.finished() && racer.found
+          && (winner == null || racer.elapsed() < winner.elapsed())) {
+        winner = racer;
+      }
+    }
+    return winner;
+  }
+
+  // the race as one line: the winner, then how each racer did
+  public String toString() {
+    Racer winner = this.winner();
+    StringBuilder report = new StringBuilder();
+
+    report.append(winner == null ? "No winner yet" : winner.algorithm + " wins");
+    for (Racer racer : this.racers) {
+      report.append("; ").append(racer);
+    }
+    return report.toString();
+  }
+}
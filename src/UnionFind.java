@@ -0,0 +1,73 @@
+// Represents a disjoint set of cell ids, where a cell's id is y * width + x
+class UnionFind {
+  // the parent of each cell id, a root is its own parent
+  int[] parent;
+  // an upper bound on the height of the tree under each root
+  int[] rank;
+  // the number of disjoint sets left
+  int sets;
+  // the number of finds so far, and the number of links they followed to
+  // reach a root, for the metrics
+  long finds;
+  long hops;
+
+  // starting constructor, every cell id begins in its own set
+  UnionFind(int size) {
+    this.parent = new int[size];
+    this.rank = new int[size];
+    this.reset();
+  }
+
+  // EFFECT: puts every id back into a set of its own
+  public void reset() {
+    this.sets = this.parent.length;
+    this.finds = 0;
+    this.hops = 0;
+
+    for (int i = 0; i < this.parent.length; i++) {
+      this.parent[i] = i;
+      this.rank[i] = 0;
+    }
+  }
+
+  // Finds the representative of the given cell id
+  // EFFECT: points every other cell on the way to the root at its grandparent
+  // (path halving), so later finds on the same chain are shorter
+  public int find(int cell) {
+    this.finds++;
+
+    while (this.parent[cell] != cell) {
+      this.parent[cell] = this.parent[this.parent[cell]];
+      cell = this.parent[cell];
+      this.hops++;
+    }
+    return cell;
+  }
+
+  // EFFECT: joins the sets of the two given cell ids, hanging the shorter tree
+  // under the taller one
+  // returns false if they were already in the same set
+  public boolean union(int a, int b) {
+    int rootA = this.find(a);
+    int rootB = this.find(b);
+
+    if (rootA == rootB) {
+      return false;
+    }
+
+    if (this.rank[rootA] < this.rank[rootB]) {
+      this.parent[rootA] = rootB;
+    }
+    else if (this.rank[rootA] > this.rank[rootB]) {
+      this.parent[rootB] = rootA;
+    }
+    else {
+      this.parent[rootB] = rootA;
+      this.rank[rootA]++;
+    }
+
+    this.sets--;
+    return true;
+  }
+
+}
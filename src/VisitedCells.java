@@ -0,0 +1,46 @@
+import java.util.BitSet;
+
+// represents the cells a search has seen, one bit per cell, and the listener
+// that hears about each cell the first time it is seen
+class VisitedCells {
+  // one bit per cell, set once the cell has been seen
+  BitSet cells;
+  // hears about each cell as it is seen, if anything is listening
+  IVisitListener listener;
+
+  // starting constructor with no cells seen and nothing listening
+  VisitedCells(int size) {
+    this.cells = new BitSet(size);
+  }
+
+  // determines if the given cell has been seen
+  boolean get(int cell) {
+    return this.cells.get(cell);
+  }
+
+  // EFFECT: marks the given cell as seen, telling the listener if it is new
+  void see(int cell) {
+    if (!this.cells.get(cell)) {
+      this.cells.set(cell);
+
+      if (this.listener != null) {
+        this.listener.visited(cell);
+      }
+    }
+  }
+
+  // EFFECT: forgets every cell seen, keeping the listener
+  void clear() {
+    this.cells.clear();
+  }
+
+  // EFFECT: tells the given listener about every cell seen so far, and then
+  // about each new cell as soon as it is seen
+  void listen(IVisitListener listener) {
+    this.listener = listener;
+
+    for (int id = this.cells.nextSetBit(0); id >= 0; id = this.cells.nextSetBit(id + 1)) {
+      listener.visited(id);
+    }
+  }
+}